@@ -0,0 +1,69 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.service.*;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+/**
+ * Creates data the benchmarks run against.
+ * Every benchmark fork has its own in-memory database, so the data is never cleaned up.
+ */
+final class BenchmarkData {
+    private BenchmarkData() {}
+
+    static Surface createSurface(int minutePrice) {
+        Surface surface = new Surface();
+        surface.setName("Benchmark Surface");
+        surface.setMinutePrice(minutePrice);
+        new SurfaceServiceImpl().save(surface);
+        return surface;
+    }
+
+    static Court createCourt(Surface surface, String name) {
+        Court court = new Court();
+        court.setName(name);
+        court.setSurface(surface);
+        new CourtServiceImpl().save(court);
+        return court;
+    }
+
+    static Customer createCustomer() {
+        Customer customer = new Customer();
+        customer.setName("Benchmark Customer");
+        customer.setPhoneNumber("Benchmark Phone Number");
+        new CustomerServiceImpl().save(customer);
+        return customer;
+    }
+
+    /**
+     * Inserts one hour long reservations following each other, bypassing Hibernate so that millions of rows take seconds.
+     * @param court court of the reservations
+     * @param customer customer of the reservations
+     * @param rows number of reservations
+     */
+    static void insertReservations(Court court, Customer customer, int rows) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            // IDs are taken past everything Hibernate has allocated from the sequence, which is then moved past them
+            long firstId = ((Number) session.createNativeQuery("SELECT NEXT VALUE FOR reservation_seq", Object.class)
+                    .getSingleResult()).longValue();
+            session.createNativeMutationQuery("INSERT INTO reservation (id, createdAt, deleted, doubles, startsAt, endsAt, price, court_id, customer_id) "
+                            + "SELECT :firstId + X, CURRENT_TIMESTAMP, false, false, DATEADD('HOUR', X, TIMESTAMP '2030-01-01 00:00:00'), "
+                            + "DATEADD('HOUR', X + 1, TIMESTAMP '2030-01-01 00:00:00'), 60, :courtId, :customerId "
+                            + "FROM SYSTEM_RANGE(1, :rows)")
+                    .setParameter("firstId", firstId)
+                    .setParameter("courtId", court.getId())
+                    .setParameter("customerId", customer.getId())
+                    .setParameter("rows", rows)
+                    .executeUpdate();
+            session.createNativeMutationQuery("ALTER SEQUENCE reservation_seq RESTART WITH " + (firstId + rows + 100))
+                    .executeUpdate();
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.TennisReservationsSystemApplication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of booking over HTTP, used to compare request handling on platform threads and on virtual threads.
+ * The application is started on a random port with the given arguments, then every client sends its requests
+ * one after another and all clients run at the same time. Each request books a different slot, so all of them succeed.
+ * Run once per mode:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--spring.threads.virtual.enabled=false --load.clients=1000"
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--spring.threads.virtual.enabled=true --load.clients=1000"
+ * </pre>
+ * Options: load.clients (default 1000), load.requests per client (default 10), load.courts booked by the clients (default 64).
+ */
+public final class BookingLoadTest {
+    private static final Instant FIRST_SLOT = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final List<Long> courtIds = new ArrayList<>();
+
+    /**
+     * Index of the next free slot, slots are spread over the courts and then over hours.
+     */
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    private BookingLoadTest(HttpClient client, int port) {
+        this.client = client;
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] applicationArgs = Arrays.copyOf(args, args.length + 2);
+        applicationArgs[args.length] = "--server.port=0";
+        applicationArgs[args.length + 1] = "--initialize=true";
+        ConfigurableApplicationContext context = SpringApplication.run(TennisReservationsSystemApplication.class, applicationArgs);
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Environment environment = context.getEnvironment();
+            int clients = environment.getProperty("load.clients", Integer.class, 1000);
+            int requests = environment.getProperty("load.requests", Integer.class, 10);
+            int courts = environment.getProperty("load.courts", Integer.class, 64);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            BookingLoadTest test = new BookingLoadTest(client, environment.getRequiredProperty("local.server.port", Integer.class));
+            test.createCourts(courts);
+            test.run(clientThreads, Math.min(clients, 50), 5);
+            Result result = test.run(clientThreads, clients, requests);
+
+            System.out.printf("virtual threads: %s, clients: %d, requests: %d, failed: %d%n",
+                    environment.getProperty("spring.threads.virtual.enabled", "false"), clients, result.latencies.length, result.failed);
+            System.out.printf("throughput: %.0f requests/s, latency p50: %d ms, p99: %d ms, max: %d ms%n",
+                    result.latencies.length / (result.nanos / 1e9),
+                    percentile(result.latencies, 0.50), percentile(result.latencies, 0.99), percentile(result.latencies, 1.0));
+        } finally {
+            context.close();
+        }
+    }
+
+    private void createCourts(int courts) throws Exception {
+        for (int i = 0; i < courts; i++) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/courts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load Test Court " + i + "\",\"surfaceId\":1}"))
+                    .build());
+            courtIds.add(mapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    private Result run(ExecutorService clientThreads, int clients, int requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String phoneNumber = "load-" + i + "-" + nextSlot.get();
+            futures.add(clientThreads.submit(() -> {
+                long[] latencies = new long[requests];
+                start.await();
+                for (int j = 0; j < requests; j++) {
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = send(bookingRequest(phoneNumber));
+                        latencies[j] = response.statusCode() == 201 ? System.nanoTime() - started : -1;
+                    } catch (Exception e) {
+                        latencies[j] = -1;
+                    }
+                }
+                return latencies;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>();
+        int failed = 0;
+        for (Future<long[]> future : futures) {
+            for (long latency : future.get()) {
+                if (latency < 0) {
+                    failed++;
+                } else {
+                    latencies.add(latency);
+                }
+            }
+        }
+        return new Result(latencies.stream().mapToLong(Long::longValue).sorted().toArray(), failed, System.nanoTime() - started);
+    }
+
+    private HttpRequest bookingRequest(String phoneNumber) {
+        long slot = nextSlot.getAndIncrement();
+        long courtId = courtIds.get((int) (slot % courtIds.size()));
+        Instant startsAt = FIRST_SLOT.plus(Duration.ofHours(slot / courtIds.size()));
+        String body = "{\"courtId\":" + courtId + ",\"customerPhoneNumber\":\"" + phoneNumber + "\",\"customerName\":\"Load Test\","
+                + "\"isDoubles\":false,\"startsAt\":\"" + startsAt + "\",\"endsAt\":\"" + startsAt.plus(Duration.ofHours(1)) + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(2))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000;
+    }
+
+    private record Result(long[] latencies, int failed, long nanos) {}
+}
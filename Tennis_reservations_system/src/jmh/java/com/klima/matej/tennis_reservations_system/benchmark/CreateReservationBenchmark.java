@@ -0,0 +1,81 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.TennisReservationsSystemApplication;
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
+import com.klima.matej.tennis_reservations_system.service.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking of a reservation end to end, from the controller method down to the embedded H2 database.
+ * Every call books the next free hour of a court that already has some reservations,
+ * half of the calls by a returning customer and half by a new one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateReservationBenchmark {
+    private static final long HOUR = 3_600_000L;
+
+    @Param({"1000", "100000"})
+    private int existingReservations;
+
+    private TennisReservationsSystemApplication application;
+
+    private Court court;
+
+    private Customer customer;
+
+    private long nextStartsAt;
+
+    private long bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new TennisReservationsSystemApplication();
+        ReflectionTestUtils.setField(application, "customerService", new CustomerServiceImpl());
+        ReflectionTestUtils.setField(application, "surfaceService", new SurfaceServiceImpl());
+        ReflectionTestUtils.setField(application, "courtService", new CourtServiceImpl());
+        ReflectionTestUtils.setField(application, "reservationService", new ReservationServiceImpl());
+        ReflectionTestUtils.setField(application, "bookingService", new BookingServiceImpl());
+
+        court = BenchmarkData.createCourt(BenchmarkData.createSurface(10), "Benchmark Court");
+        customer = BenchmarkData.createCustomer();
+        BenchmarkData.insertReservations(court, customer, existingReservations);
+        nextStartsAt = Timestamp.valueOf("2030-01-01 00:00:00").getTime() + (existingReservations + 1) * HOUR;
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> createReservation() {
+        Timestamp startsAt = new Timestamp(nextStartsAt);
+        Timestamp endsAt = new Timestamp(nextStartsAt + HOUR);
+        nextStartsAt += HOUR;
+
+        boolean returningCustomer = (bookings++ & 1) == 0;
+        ReservationCreateParams params = ReservationCreateParams.builder()
+                .courtId(court.getId())
+                .customerPhoneNumber(returningCustomer ? customer.getPhoneNumber() : "Benchmark Phone Number " + bookings)
+                .customerName(customer.getName())
+                .isDoubles(false)
+                .startsAt(startsAt)
+                .endsAt(endsAt)
+                .build();
+
+        ResponseEntity<Object> response = application.createReservation(params);
+        if (response.getStatusCode() != HttpStatus.CREATED) {
+            throw new IllegalStateException("Reservation was not created: " + response.getBody());
+        }
+        return response;
+    }
+}
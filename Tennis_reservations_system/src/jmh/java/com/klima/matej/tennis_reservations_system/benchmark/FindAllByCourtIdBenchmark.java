@@ -0,0 +1,51 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.service.ReservationService;
+import com.klima.matej.tennis_reservations_system.service.ReservationServiceImpl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of all reservations of one court while the reservation table holds 1k, 100k and 1M rows.
+ * The rows are split evenly among the courts, so the measured court has a tenth of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FindAllByCourtIdBenchmark {
+    private static final int COURTS = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    private int reservations;
+
+    private ReservationService reservationService;
+
+    private long courtId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reservationService = new ReservationServiceImpl();
+        Surface surface = BenchmarkData.createSurface(10);
+        Customer customer = BenchmarkData.createCustomer();
+        for (int i = 0; i < COURTS; i++) {
+            Court court = BenchmarkData.createCourt(surface, "Benchmark Court " + i);
+            BenchmarkData.insertReservations(court, customer, reservations / COURTS);
+            courtId = court.getId();
+        }
+    }
+
+    @Benchmark
+    public List<Reservation> findAllByCourtId() {
+        return reservationService.findAllByCourtId(courtId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.service.CustomerService;
+import com.klima.matej.tennis_reservations_system.service.CustomerServiceImpl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares finding a customer and saving it if not found with the atomic findOrCreate, called by concurrent first-time customers.
+ * Consecutive calls share a phone number, so every new customer is usually looked up by several threads at once.
+ * Calls which did not get a customer are reported as the failures counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class FindOrCreateCustomerBenchmark {
+    private static final int CALLS_PER_CUSTOMER = 4;
+
+    private final CustomerService customerService = new CustomerServiceImpl();
+
+    private final AtomicLong calls = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long failures;
+    }
+
+    private String nextPhoneNumber(String prefix) {
+        return prefix + " Phone Number " + calls.getAndIncrement() / CALLS_PER_CUSTOMER;
+    }
+
+    @Benchmark
+    public Customer findThenSave(Failures failures) {
+        String phoneNumber = nextPhoneNumber("Find Then Save");
+        Customer customer = customerService.findByPhoneNumber(phoneNumber);
+        if (customer == null) {
+            customer = new Customer();
+            customer.setPhoneNumber(phoneNumber);
+            customer.setName("Benchmark Customer");
+            try {
+                customer = customerService.save(customer);
+            } catch (IllegalStateException e) {
+                // Thrown by the rollback of a failed save
+                customer = null;
+            }
+        }
+        if (customer == null) {
+            failures.failures++;
+        }
+        return customer;
+    }
+
+    @Benchmark
+    public Customer findOrCreate(Failures failures) {
+        Customer customer = customerService.findOrCreate(nextPhoneNumber("Find Or Create"), "Benchmark Customer");
+        if (customer == null) {
+            failures.failures++;
+        }
+        return customer;
+    }
+}
@@ -0,0 +1,62 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.service.ReservationService;
+import com.klima.matej.tennis_reservations_system.service.ReservationServiceImpl;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading all reservations at once with reading a single keyset page.
+ * Run with the gc profiler (default of the benchmark profile), gc.alloc.rate.norm shows allocated bytes per call:
+ * it grows with the number of rows for findAll and stays flat for findPage, no matter where the page starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private ReservationService reservationService;
+
+    private long lastPageAfterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reservationService = new ReservationServiceImpl();
+        Court court = BenchmarkData.createCourt(BenchmarkData.createSurface(1), "Benchmark Court");
+        BenchmarkData.insertReservations(court, BenchmarkData.createCustomer(), rows);
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            lastPageAfterId = session.createQuery("SELECT max(r.id) FROM Reservation r", Long.class)
+                    .getSingleResult() - PAGE_SIZE;
+        }
+    }
+
+    @Benchmark
+    public List<Reservation> findAll() {
+        return reservationService.findAll();
+    }
+
+    @Benchmark
+    public List<Reservation> findFirstPage() {
+        return reservationService.findPage(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Reservation> findLastPage() {
+        return reservationService.findPage(lastPageAfterId, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,99 @@
+package com.klima.matej.tennis_reservations_system.benchmark;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory reservation logic: overlap check against lists of reservations of a court and price calculation.
+ * The overlap check is measured for a slot overlapping the first reservation of the list (best case)
+ * and for a slot after all of them, which has to be compared with every reservation (worst case).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationBenchmark {
+    private static final long HOUR = 3_600_000L;
+    private static final long START = Timestamp.valueOf("2030-01-01 00:00:00").getTime();
+
+    private static Court court() {
+        Surface surface = new Surface();
+        surface.setMinutePrice(10);
+        Court court = new Court();
+        court.setSurface(surface);
+        return court;
+    }
+
+    @State(Scope.Benchmark)
+    public static class CourtReservations {
+        @Param({"10", "1000", "100000"})
+        private int reservations;
+
+        private List<Reservation> list;
+
+        private Timestamp firstStartsAt;
+        private Timestamp firstEndsAt;
+        private Timestamp freeStartsAt;
+        private Timestamp freeEndsAt;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Court court = court();
+            Customer customer = new Customer();
+            list = new ArrayList<>(reservations);
+            for (int i = 0; i < reservations; i++) {
+                list.add(new Reservation(false, customer, court,
+                        new Timestamp(START + i * HOUR), new Timestamp(START + (i + 1) * HOUR)));
+            }
+
+            firstStartsAt = new Timestamp(START + HOUR / 2);
+            firstEndsAt = new Timestamp(START + HOUR + HOUR / 2);
+            freeStartsAt = new Timestamp(START + reservations * HOUR);
+            freeEndsAt = new Timestamp(START + (reservations + 1) * HOUR);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Prices {
+        private Reservation singles;
+        private Reservation doubles;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Court court = court();
+            Customer customer = new Customer();
+            singles = new Reservation(false, customer, court, new Timestamp(START), new Timestamp(START + HOUR));
+            doubles = new Reservation(true, customer, court, new Timestamp(START), new Timestamp(START + HOUR));
+        }
+    }
+
+    @Benchmark
+    public boolean isOverlappingFirst(CourtReservations state) {
+        return Reservation.isOverlapping(state.firstStartsAt, state.firstEndsAt, state.list);
+    }
+
+    @Benchmark
+    public boolean isOverlappingNone(CourtReservations state) {
+        return Reservation.isOverlapping(state.freeStartsAt, state.freeEndsAt, state.list);
+    }
+
+    @Benchmark
+    public double calculatePriceSingles(Prices state) {
+        return state.singles.calculatePrice();
+    }
+
+    @Benchmark
+    public double calculatePriceDoubles(Prices state) {
+        return state.doubles.calculatePrice();
+    }
+}
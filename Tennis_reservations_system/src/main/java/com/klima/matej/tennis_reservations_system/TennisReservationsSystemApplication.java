@@ -1,28 +1,72 @@
 package com.klima.matej.tennis_reservations_system;
 
 import com.klima.matej.tennis_reservations_system.entity.*;
+import com.klima.matej.tennis_reservations_system.jfr.BookingEvent;
 import com.klima.matej.tennis_reservations_system.params.*;
 import com.klima.matej.tennis_reservations_system.service.*;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
+import com.klima.matej.tennis_reservations_system.util.StripedLock;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Main class of the application.
+ * Hibernate is bootstrapped by HibernateUtil, so the JPA auto-configuration of Spring Boot is not used.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
 @RestController
 public class TennisReservationsSystemApplication {
+	/**
+	 * Number of items in a page when the client does not ask for a specific page size.
+	 */
+	private static final String DEFAULT_PAGE_SIZE = "100";
+
+	/**
+	 * Media type of newline-delimited JSON.
+	 */
+	private static final String NDJSON = "application/x-ndjson";
+
+	/**
+	 * Longest time range in which free slots of courts or occurrences of series can be searched.
+	 */
+	private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(31);
+
+	/**
+	 * Longest range of days for which statistics of courts can be read.
+	 */
+	private static final int MAX_STATS_DAYS = 366;
+
 	@Value("${initialize:false}")
 	private boolean initialize;
 
@@ -38,6 +82,26 @@ public class TennisReservationsSystemApplication {
 	@Autowired
 	private ReservationService reservationService;
 
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private ReservationSeriesService reservationSeriesService;
+
+	@Autowired
+	private AvailabilityService availabilityService;
+
+	@Autowired
+	private CourtStatsService courtStatsService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Locks serializing bookings of the same court.
+	 */
+	private final StripedLock courtLocks = new StripedLock(64);
+
 	/**
 	 * Endpoint creating a new customer.
 	 * @param params CustomerCreateParams object containing the data of the new customer.
@@ -62,12 +126,15 @@ public class TennisReservationsSystemApplication {
 	}
 
 	/**
-	 * Endpoint returning all existing courts.
-	 * @return List of all existing courts.
+	 * Endpoint returning a page of existing courts ordered by id.
+	 * @param after ID of the last court of the previous page, 0 for the first page.
+	 * @param limit Maximum number of courts in the page, capped by GenericService.MAX_PAGE_SIZE.
+	 * @return List of at most limit courts with id greater than after.
 	 */
 	@GetMapping("/api/courts/all")
-	public List<Court> getAllCourts() {
-		return courtService.findAll();
+	public List<Court> getAllCourts(@RequestParam(defaultValue = "0") long after,
+									@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+		return courtService.findPage(after, limit);
 	}
 
 	/**
@@ -80,6 +147,31 @@ public class TennisReservationsSystemApplication {
 		return courtService.findById(id);
 	}
 
+	/**
+	 * Endpoint returning free slots of courts within the given time range.
+	 * @param from Beginning of the time range.
+	 * @param to End of the time range, the range can be at most 31 days long.
+	 * @param surfaceId Optional ID of the surface, only courts with this surface are searched if it is given.
+	 * @param minMinutes Minimal length of a returned free slot in minutes.
+	 * @return ResponseEntity containing courts with at least one free slot and their free slots with 200 OK code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of invalid time range.
+	 */
+	@GetMapping("/api/courts/free")
+	public ResponseEntity<Object> getFreeSlots(@RequestParam Instant from, @RequestParam Instant to,
+											   @RequestParam(required = false) Long surfaceId,
+											   @RequestParam(defaultValue = "0") int minMinutes) {
+		if (!from.isBefore(to)) {
+			String errorMessage = "Beginning of the time range must be before its end.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+			String errorMessage = "Time range must not be longer than " + MAX_AVAILABILITY_RANGE.toDays() + " days.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		return ResponseEntity.ok(availabilityService.findFreeSlots(Timestamp.from(from), Timestamp.from(to), surfaceId, minMinutes));
+	}
+
 	/**
 	 * Endpoint updating a court with the given id.
 	 * @param id ID of the court to be updated.
@@ -153,12 +245,43 @@ public class TennisReservationsSystemApplication {
 	}
 
 	/**
-	 * Endpoint returning all existing reservations.
-	 * @return List of all existing reservations.
+	 * Endpoint returning a page of existing reservations ordered by id.
+	 * @param after ID of the last reservation of the previous page, 0 for the first page.
+	 * @param limit Maximum number of reservations in the page, capped by GenericService.MAX_PAGE_SIZE.
+	 * @return List of at most limit reservations with id greater than after.
 	 */
 	@GetMapping("/api/reservations/all")
-	public List<Reservation> getAllReservations() {
-		return reservationService.findAll();
+	public List<Reservation> getAllReservations(@RequestParam(defaultValue = "0") long after,
+												@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+		return reservationService.findPage(after, limit);
+	}
+
+	/**
+	 * Endpoint exporting all existing reservations as newline-delimited JSON, one reservation per line.
+	 * Reservations are written to the response as they are read from the database, so they are never all held in memory.
+	 * @return ResponseEntity streaming all existing reservations ordered by id.
+	 */
+	@GetMapping(value = "/api/reservations/export", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> exportReservations() {
+		ObjectWriter writer = objectMapper.writerFor(Reservation.class)
+				.withRootValueSeparator("")
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		StreamingResponseBody body = outputStream -> {
+			try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+				reservationService.streamAll(reservation -> {
+					try {
+						writer.writeValue(generator, reservation);
+						generator.writeRaw('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
 	}
 
 	/**
@@ -173,10 +296,12 @@ public class TennisReservationsSystemApplication {
 
 	/**
 	 * Endpoint updating a reservation with the given id.
+	 * The updated reservation is checked for overlap with other reservations and series of its court as a new one.
 	 * @param id ID of the reservation to be updated.
 	 * @param params ReservationCreateParams object containing the data of the updated reservation.
 	 * @return ResponseEntity containing the updated reservation object with 200 OK code in case of success.
 	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of failure.
+	 * 	       ResponseEntity containing the error message with 500 Internal Server Error code if the reservation could not be saved.
 	 */
 	@PutMapping("/api/reservations/id/{id}")
 	public ResponseEntity<Object> updateReservationById(@PathVariable long id, @Valid @RequestBody ReservationCreateParams params) {
@@ -192,13 +317,7 @@ public class TennisReservationsSystemApplication {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
 		}
 
-		Customer customer = customerService.findByPhoneNumber(params.getCustomerPhoneNumber());
-		if (customer == null) {
-			customer = new Customer();
-			customer.setPhoneNumber(params.getCustomerPhoneNumber());
-			customer.setName(params.getCustomerName());
-			customer = customerService.save(customer);
-		}
+		Customer customer = customerService.findOrCreate(params.getCustomerPhoneNumber(), params.getCustomerName());
 
 		reservation.setCourt(court);
 		reservation.setCustomer(customer);
@@ -207,17 +326,17 @@ public class TennisReservationsSystemApplication {
 		reservation.setEndsAt(params.getEndsAt());
 		reservation.setPrice(reservation.calculatePrice());
 
-		Reservation updated = reservationService.update(reservation);
-
-		return ResponseEntity.ok(updated);
+		return updateReservation(id, reservation);
 	}
 
 	/**
 	 * Endpoint patching a reservation with the given id.
+	 * The patched reservation is checked for overlap with other reservations and series of its court as a new one.
 	 * @param id ID of the reservation to be patched.
 	 * @param params ReservationPatchParams object containing the data of the patched reservation.
 	 * @return ResponseEntity containing the patched reservation object with 200 OK code in case of success.
 	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of failure.
+	 * 	       ResponseEntity containing the error message with 500 Internal Server Error code if the reservation could not be saved.
 	 */
 	@PatchMapping("/api/reservations/id/{id}")
 	public ResponseEntity<Object> patchReservationById(@PathVariable long id, @RequestBody ReservationPatchParams params) {
@@ -237,13 +356,7 @@ public class TennisReservationsSystemApplication {
 		}
 
 		if (params.getCustomerPhoneNumber() != null) {
-			Customer customer = customerService.findByPhoneNumber(params.getCustomerPhoneNumber());
-			if (customer == null) {
-				customer = new Customer();
-				customer.setPhoneNumber(params.getCustomerPhoneNumber());
-				customer.setName(params.getCustomerName());
-				customer = customerService.save(customer);
-			}
+			Customer customer = customerService.findOrCreate(params.getCustomerPhoneNumber(), params.getCustomerName());
 			reservation.setCustomer(customer);
 		}
 
@@ -265,9 +378,46 @@ public class TennisReservationsSystemApplication {
 
 		reservation.setPrice(reservation.calculatePrice());
 
-		Reservation updated = reservationService.update(reservation);
+		return updateReservation(id, reservation);
+	}
 
-		return ResponseEntity.ok(updated);
+	/**
+	 * Saves the updated reservation by BookingService while holding the booking lock of its court,
+	 * so the update cannot overlap with a concurrent booking of the same court.
+	 * @param id ID of the updated reservation.
+	 * @param reservation Reservation with the new state, its court and customer are set.
+	 * @return ResponseEntity containing the updated reservation object with 200 OK code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of failure.
+	 * 	       ResponseEntity containing the error message with 500 Internal Server Error code if the reservation could not be saved.
+	 */
+	private ResponseEntity<Object> updateReservation(long id, Reservation reservation) {
+		BookingResult result;
+		Lock courtLock = courtLocks.get(reservation.getCourt().getId());
+		courtLock.lock();
+		try {
+			result = bookingService.update(reservation);
+		} finally {
+			courtLock.unlock();
+		}
+
+		if (result.getStatus() == BookingResult.Status.OVERLAPPING) {
+			String errorMessage = "Reservation is overlapping with existing reservation.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (result.getStatus() == BookingResult.Status.RESERVATION_NOT_FOUND) {
+			String errorMessage = "Reservation with id " + id + " not found.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (result.getStatus() == BookingResult.Status.COURT_NOT_FOUND) {
+			String errorMessage = "Court with id " + reservation.getCourt().getId() + " not found.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (result.getStatus() == BookingResult.Status.FAILED) {
+			String errorMessage = "Reservation could not be saved.";
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+		}
+
+		return ResponseEntity.ok(result.getReservation());
 	}
 
 	/**
@@ -283,13 +433,17 @@ public class TennisReservationsSystemApplication {
 	/**
 	 * Endpoint returning all reservations for a court with the given id sorted by creation time.
 	 * @param id ID of the court for which the reservations should be returned.
+	 * @param from Optional inclusive lower bound of the creation time of returned reservations.
+	 * @param to Optional exclusive upper bound of the creation time of returned reservations.
 	 * @return List of all reservations for the court with the given id sorted by creation time.
 	 */
 	@GetMapping("/api/reservations/court/{id}")
-	public List<Reservation> getAllReservationsByCourtId(@PathVariable long id) {
-		List<Reservation> reservations = reservationService.findAllByCourtId(id);
-		reservations.sort(Comparator.comparing(Reservation::getCreatedAt));
-		return reservations;
+	public List<Reservation> getAllReservationsByCourtId(@PathVariable long id,
+														 @RequestParam(required = false) Instant from,
+														 @RequestParam(required = false) Instant to) {
+		return reservationService.findAllByCourtId(id,
+				from == null ? null : Timestamp.from(from),
+				to == null ? null : Timestamp.from(to));
 	}
 
 	/**
@@ -303,63 +457,326 @@ public class TennisReservationsSystemApplication {
 	}
 
 	/**
-	 * Endpoint returning all reservations in future for a customer with the given phone number.
+	 * Endpoint returning reservations in future for a customer with the given phone number, the nearest first.
 	 * @param phoneNumber Phone number of the customer for which the reservations should be returned.
-	 * @return List of all reservations in future for the customer with the given phone number.
+	 * @param limit Maximum number of returned reservations, all reservations in future are returned if it is not given.
+	 * @return List of reservations in future for the customer with the given phone number.
 	 */
 	@GetMapping("/api/reservations/phone/future/{phoneNumber}")
-	public List<Reservation> getFutureReservationsByPhoneNumber(@PathVariable String phoneNumber) {
-		return reservationService.findFutureByPhoneNumber(phoneNumber);
+	public List<Reservation> getFutureReservationsByPhoneNumber(@PathVariable String phoneNumber,
+																@RequestParam(required = false) Integer limit) {
+		if (limit == null) {
+			return reservationService.findFutureByPhoneNumber(phoneNumber);
+		}
+		return reservationService.findFutureByPhoneNumber(phoneNumber, limit);
 	}
 
 	/**
 	 * Endpoint creating a new reservation.
+	 * Bookings of the same court are serialized, so the overlap check and saving of the reservation are atomic.
+	 * The whole booking is done by BookingService in a single transaction.
+	 * Every booking is recorded as BookingEvent, including the wait for the court lock.
 	 * @param params ReservationCreateParams object containing the data of the new reservation.
-	 * @return ResponseEntity containing the created reservation object with 200 OK code in case of success.
+	 * @return ResponseEntity containing the price of the created reservation with 201 Created code in case of success.
 	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of failure.
+	 * 	       ResponseEntity containing the error message with 500 Internal Server Error code if the reservation could not be saved.
 	 */
 	@PostMapping("/api/reservations")
 	public ResponseEntity<Object> createReservation(@Valid @RequestBody ReservationCreateParams params) {
-		List<Reservation> reservations = reservationService.findAllByCourtId(params.getCourtId());
-		if (Reservation.isOverlapping(params.getStartsAt(), params.getEndsAt(), reservations)) {
+		BookingEvent event = new BookingEvent();
+		event.begin();
+		event.setCourtId(params.getCourtId());
+		BookingResult result = null;
+		try {
+			Lock courtLock = courtLocks.get(params.getCourtId());
+			long lockRequested = System.nanoTime();
+			courtLock.lock();
+			event.setLockWait(System.nanoTime() - lockRequested);
+			try {
+				result = bookingService.book(params);
+			} finally {
+				courtLock.unlock();
+			}
+		} finally {
+			event.setStatus(result == null ? BookingEvent.ERROR : result.getStatus().name());
+			event.commit();
+		}
+
+		if (result.getStatus() == BookingResult.Status.OVERLAPPING) {
 			String errorMessage = "Reservation is overlapping with existing reservation.";
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
 		}
-
-		Court court = courtService.findById(params.getCourtId());
-		if (court == null) {
+		if (result.getStatus() == BookingResult.Status.COURT_NOT_FOUND) {
 			String errorMessage = "Court with id " + params.getCourtId() + " not found.";
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
 		}
+		if (result.getStatus() == BookingResult.Status.FAILED) {
+			String errorMessage = "Reservation could not be saved.";
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+		}
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(result.getReservation().calculatePrice());
+	}
 
-		Customer customer = customerService.findByPhoneNumber(params.getCustomerPhoneNumber());
-		if (customer == null) {
-			customer = new Customer();
-			customer.setPhoneNumber(params.getCustomerPhoneNumber());
-			customer.setName(params.getCustomerName());
-			customer = customerService.save(customer);
+	/**
+	 * Endpoint creating multiple reservations at once.
+	 * All reservations are validated against each other first, then BookingService checks them against existing reservations,
+	 * creates their customers and saves them in a single transaction, so either all of them are created or none.
+	 * Bookings of all involved courts are serialized with other bookings for the whole time.
+	 * @param params ReservationBatchParams object containing the data of the new reservations.
+	 * @return ResponseEntity containing the prices of the created reservations in the order of the request with 201 Created code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of invalid or overlapping reservations.
+	 * 	       ResponseEntity containing the error message with 500 Internal Server Error code if the reservations could not be saved.
+	 */
+	@PostMapping("/api/reservations/batch")
+	public ResponseEntity<Object> createReservations(@Valid @RequestBody ReservationBatchParams params) {
+		List<ReservationCreateParams> items = params.getReservations();
+		Set<Long> courtIds = new LinkedHashSet<>();
+		for (int i = 0; i < items.size(); i++) {
+			ReservationCreateParams item = items.get(i);
+			if (!item.getStartsAt().before(item.getEndsAt())) {
+				String errorMessage = "Reservation " + i + " must begin before it ends.";
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+			}
+			courtIds.add(item.getCourtId());
 		}
 
-		Reservation reservation = new Reservation();
-		reservation.setCourt(court);
-		reservation.setCustomer(customer);
-		reservation.setDoubles(params.isDoubles());
-		reservation.setStartsAt(params.getStartsAt());
-		reservation.setEndsAt(params.getEndsAt());
-		reservation.setPrice(reservation.calculatePrice());
+		// Reservations of the same court ordered by beginning overlap only if one begins before all previous ones end
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < items.size(); i++) {
+			order.add(i);
+		}
+		order.sort(Comparator.<Integer>comparingLong(i -> items.get(i).getCourtId())
+				.thenComparing(i -> items.get(i).getStartsAt()));
+		int latest = -1;
+		for (int i : order) {
+			ReservationCreateParams item = items.get(i);
+			if (latest >= 0 && items.get(latest).getCourtId() == item.getCourtId()
+					&& item.getStartsAt().before(items.get(latest).getEndsAt())) {
+				String errorMessage = "Reservation " + i + " is overlapping with reservation " + latest + ".";
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+			}
+			if (latest < 0 || items.get(latest).getCourtId() != item.getCourtId()
+					|| item.getEndsAt().after(items.get(latest).getEndsAt())) {
+				latest = i;
+			}
+		}
+
+		List<Lock> locks = courtLocks.getAll(courtIds);
+		locks.forEach(Lock::lock);
+		BatchBookingResult result;
+		try {
+			result = bookingService.bookAll(items);
+		} finally {
+			for (int i = locks.size() - 1; i >= 0; i--) {
+				locks.get(i).unlock();
+			}
+		}
+
+		if (result.getStatus() == BookingResult.Status.COURT_NOT_FOUND) {
+			String errorMessage = "Court with id " + items.get(result.getIndex()).getCourtId() + " not found.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (result.getStatus() == BookingResult.Status.OVERLAPPING) {
+			String errorMessage = "Reservation " + result.getIndex() + " is overlapping with existing reservation.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (result.getStatus() == BookingResult.Status.FAILED) {
+			String errorMessage = "Reservations could not be saved.";
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+		}
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(result.getReservations().stream().map(Reservation::getPrice).toList());
+	}
+
+	/**
+	 * Endpoint creating a new weekly reservation series.
+	 * The series is stored as a single row, all its occurrences are checked against existing reservations
+	 * and series of the court by one lookup of the busy time of the court.
+	 * @param params ReservationSeriesCreateParams object containing the data of the new series.
+	 * @return ResponseEntity containing the created series object with 201 Created code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of failure.
+	 */
+	@PostMapping("/api/series")
+	public ResponseEntity<Object> createReservationSeries(@Valid @RequestBody ReservationSeriesCreateParams params) {
+		if (!params.getStartTime().isBefore(params.getEndTime())) {
+			String errorMessage = "Occurrences must begin before they end.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		if (params.getUntil().isBefore(params.getStartsOn())) {
+			String errorMessage = "Series must not end before it starts.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		if (params.getUntil().isAfter(params.getStartsOn().plusWeeks(ReservationSeriesCreateParams.MAX_WEEKS))) {
+			String errorMessage = "Series must not be longer than " + ReservationSeriesCreateParams.MAX_WEEKS + " weeks.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		ReservationSeries series = new ReservationSeries();
+		series.setDoubles(params.isDoubles());
+		series.setDayOfWeek(params.getDayOfWeek());
+		series.setStartTime(params.getStartTime());
+		series.setEndTime(params.getEndTime());
+		series.setStartsOn(params.getStartsOn());
+		series.setUntil(params.getUntil());
+		if (series.countOccurrences() == 0) {
+			String errorMessage = "Series has no occurrence.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		Lock courtLock = courtLocks.get(params.getCourtId());
+		courtLock.lock();
+		try {
+			Court court = courtService.findById(params.getCourtId());
+			if (court == null) {
+				String errorMessage = "Court with id " + params.getCourtId() + " not found.";
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+			}
+			series.setCourt(court);
+
+			Timestamp from = Timestamp.valueOf(params.getStartsOn().atStartOfDay());
+			Timestamp to = Timestamp.valueOf(params.getUntil().plusDays(1).atStartOfDay());
+			CourtTimeline timeline = reservationService.findTimelines(List.of(court.getId()), from, to).get(court.getId());
+			if (timeline != null) {
+				for (long[] occurrence : series.occurrences(from.getTime(), to.getTime())) {
+					if (!timeline.isFree(occurrence[0], occurrence[1])) {
+						String errorMessage = "Occurrence on " + new Timestamp(occurrence[0]).toLocalDateTime().toLocalDate()
+								+ " is overlapping with existing reservation.";
+						return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+					}
+				}
+			}
+
+			Customer customer = customerService.findOrCreate(params.getCustomerPhoneNumber(), params.getCustomerName());
+			series.setCustomer(customer);
+			series.setPrice(series.calculatePrice());
 
-		Reservation saved = reservationService.save(reservation);
+			ReservationSeries saved = reservationSeriesService.save(series);
 
-		return ResponseEntity.status(HttpStatus.CREATED).body(saved.calculatePrice());
+			return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+		} finally {
+			courtLock.unlock();
+		}
+	}
+
+	/**
+	 * Endpoint returning reservation series with the given id.
+	 * @param id ID of the series.
+	 * @return ReservationSeries object with the given id.
+	 */
+	@GetMapping("/api/series/id/{id}")
+	public ReservationSeries getReservationSeriesById(@PathVariable long id) {
+		return reservationSeriesService.findById(id);
+	}
+
+	/**
+	 * Endpoint returning occurrences of all reservation series of the given court within the given time range.
+	 * Occurrences are computed on request, they have no id.
+	 * @param id ID of the court.
+	 * @param from Beginning of the time range.
+	 * @param to End of the time range, the range can be at most 31 days long.
+	 * @return ResponseEntity containing the occurrences ordered by their beginning with 200 OK code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of invalid time range.
+	 */
+	@GetMapping("/api/series/court/{id}/occurrences")
+	public ResponseEntity<Object> getReservationSeriesOccurrences(@PathVariable long id,
+																  @RequestParam Instant from, @RequestParam Instant to) {
+		if (!from.isBefore(to)) {
+			String errorMessage = "Beginning of the time range must be before its end.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+		if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+			String errorMessage = "Time range must not be longer than " + MAX_AVAILABILITY_RANGE.toDays() + " days.";
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		return ResponseEntity.ok(reservationSeriesService.findOccurrences(id, Timestamp.from(from), Timestamp.from(to)));
+	}
+
+	/**
+	 * Endpoint deleting reservation series with the given id, together with all its occurrences.
+	 * @param id ID of the series to be deleted.
+	 * @return True if the series was deleted, false otherwise.
+	 */
+	@DeleteMapping("/api/series/id/{id}")
+	public boolean deleteReservationSeriesById(@PathVariable long id) {
+		return reservationSeriesService.deleteById(id);
+	}
+
+	/**
+	 * Endpoint returning daily statistics of courts: booked minutes, revenue and number of bookings per court and day.
+	 * Statistics are maintained together with reservations, so no reservations are read.
+	 * @param from First day, inclusive.
+	 * @param to Last day, inclusive, the range can be at most 366 days long.
+	 * @param courtId Optional ID of the court, only this court is returned if it is given.
+	 * @param surfaceId Optional ID of the surface, only courts with this surface are returned if it is given.
+	 * @return ResponseEntity containing the statistics ordered by day and court with 200 OK code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of invalid range of days.
+	 */
+	@GetMapping("/api/stats/daily")
+	public ResponseEntity<Object> getDailyStats(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+												@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+												@RequestParam(required = false) Long courtId,
+												@RequestParam(required = false) Long surfaceId) {
+		String errorMessage = validateStatsRange(from, to);
+		if (errorMessage != null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		return ResponseEntity.ok(courtStatsService.findDaily(from, to, courtId, surfaceId));
+	}
+
+	/**
+	 * Endpoint returning statistics of courts summed over the given days.
+	 * @param from First day, inclusive.
+	 * @param to Last day, inclusive, the range can be at most 366 days long.
+	 * @param surfaceId Optional ID of the surface, only courts with this surface are returned if it is given.
+	 * @return ResponseEntity containing the statistics ordered by court with 200 OK code in case of success.
+	 * 	       ResponseEntity containing the error message with 400 Bad Request code in case of invalid range of days.
+	 */
+	@GetMapping("/api/stats/courts")
+	public ResponseEntity<Object> getCourtStats(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+												@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+												@RequestParam(required = false) Long surfaceId) {
+		String errorMessage = validateStatsRange(from, to);
+		if (errorMessage != null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+		}
+
+		return ResponseEntity.ok(courtStatsService.findTotals(from, to, surfaceId));
+	}
+
+	/**
+	 * Checks the range of days for which statistics are requested.
+	 * @param from First day, inclusive.
+	 * @param to Last day, inclusive.
+	 * @return Error message or null if the range is valid.
+	 */
+	private static String validateStatsRange(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			return "First day must not be after the last day.";
+		}
+		if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_STATS_DAYS) {
+			return "Range of days must not be longer than " + MAX_STATS_DAYS + " days.";
+		}
+		return null;
 	}
 
 	/**
 	 * Function initializing the database with some data.
+	 * Injected services are used, so the data is saved by the session factory of the context,
+	 * services are created only if the application was not created by Spring.
 	 * @return True if the initialization was successful.
 	 */
 	public boolean initData() {
-		surfaceService = new SurfaceServiceImpl();
-		courtService = new CourtServiceImpl();
+		if (surfaceService == null) {
+			surfaceService = new SurfaceServiceImpl();
+		}
+		if (courtService == null) {
+			courtService = new CourtServiceImpl();
+		}
 
 		Surface claySurface = new Surface();
 		claySurface.setName("Clay");
@@ -0,0 +1,65 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes hit, miss and put counters of every second-level cache region.
+ * Counters are read from Hibernate statistics, so hibernate.generate_statistics must be enabled.
+ */
+public class HibernateCacheMetrics implements MeterBinder {
+    /**
+     * Session factory whose cache regions are measured.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory whose cache regions are measured
+     */
+    public HibernateCacheMetrics(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            counter(registry, "hibernate.second.level.cache.requests", region, "hit", regionStatistics,
+                    CacheRegionStatistics::getHitCount);
+            counter(registry, "hibernate.second.level.cache.requests", region, "miss", regionStatistics,
+                    CacheRegionStatistics::getMissCount);
+            counter(registry, "hibernate.second.level.cache.puts", region, null, regionStatistics,
+                    CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    /**
+     * Registers counter backed by the statistics of a cache region.
+     * @param registry registry the counter is registered in
+     * @param name name of the counter
+     * @param region name of the cache region
+     * @param result value of the result tag or null if the counter has no result tag
+     * @param regionStatistics statistics of the cache region
+     * @param count function reading the counted value from the statistics
+     */
+    private void counter(MeterRegistry registry, String name, String region, String result,
+                         CacheRegionStatistics regionStatistics, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.Builder<CacheRegionStatistics> builder = FunctionCounter.builder(name, regionStatistics, count)
+                .tag("region", region);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(registry);
+    }
+}
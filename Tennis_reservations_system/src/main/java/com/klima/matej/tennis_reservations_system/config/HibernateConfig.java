@@ -0,0 +1,65 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+import com.klima.matej.tennis_reservations_system.util.SqlStatementLog;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of Hibernate running inside Spring.
+ * Session factory obtains its connections from the Spring managed HikariCP data source,
+ * so the pool is configured by spring.datasource.hikari.* properties and its metrics are published by actuator.
+ */
+@Configuration
+public class HibernateConfig {
+    /**
+     * Creates session factory used by all services, it is closed with the context and HibernateUtil then stops returning it.
+     * @param dataSource Spring managed data source
+     * @param slowQueryThreshold statements executed at least this long are logged
+     * @param slowQuerySampleRate probability with which a slow statement is logged
+     * @param secondLevelCacheEnabled whether entities annotated with @Cache are cached in the second-level cache
+     * @param statisticsEnabled whether Hibernate collects statistics, needed for the cache metrics
+     * @return session factory
+     */
+    @Bean(destroyMethod = "close")
+    public SessionFactory sessionFactory(DataSource dataSource,
+                                         @Value("${sql.slow-query.threshold:100ms}") Duration slowQueryThreshold,
+                                         @Value("${sql.slow-query.sample-rate:1.0}") double slowQuerySampleRate,
+                                         @Value("${hibernate.second-level-cache.enabled:true}") boolean secondLevelCacheEnabled,
+                                         @Value("${hibernate.statistics.enabled:true}") boolean statisticsEnabled) {
+        SqlStatementLog.configure(slowQueryThreshold, slowQuerySampleRate);
+        return HibernateUtil.getSessionFactory(dataSource, Map.of(
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, String.valueOf(secondLevelCacheEnabled),
+                AvailableSettings.GENERATE_STATISTICS, String.valueOf(statisticsEnabled)));
+    }
+
+    /**
+     * Creates binder publishing second-level cache hits and misses as metrics.
+     * It is created only when Hibernate collects statistics, the counters would stay at zero otherwise.
+     * @param sessionFactory session factory whose cache regions are measured
+     * @return metrics binder
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hibernate.statistics.enabled", matchIfMissing = true)
+    public HibernateCacheMetrics hibernateCacheMetrics(SessionFactory sessionFactory) {
+        return new HibernateCacheMetrics(sessionFactory);
+    }
+
+    /**
+     * Creates binder publishing latency histograms of SQL statements as metrics.
+     * @return metrics binder
+     */
+    @Bean
+    public SqlStatementMetrics sqlStatementMetrics() {
+        return new SqlStatementMetrics();
+    }
+}
@@ -0,0 +1,24 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of metrics of the service layer.
+ * Latency of controller methods is measured by Spring Boot as http.server.requests, tagged by uri, status and outcome.
+ */
+@Configuration
+public class MetricsConfig {
+    /**
+     * Creates post processor measuring calls of services.
+     * The method is static, so that this configuration is not created early only because of the post processor.
+     * @param registry registry the timers are registered in
+     * @return post processor
+     */
+    @Bean
+    public static ServiceMetricsPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new ServiceMetricsPostProcessor(registry);
+    }
+}
@@ -0,0 +1,106 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.service.RecordingService;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * Actuator endpoint recording the application with JDK Flight Recorder on demand, e.g. to find the cause of booking latency spikes.
+ * Bookings, overlap checks, customer lookups and Hibernate sessions are recorded together with the default JFR events.
+ * Like every actuator endpoint it is reachable only if it is listed in management.endpoints.web.exposure.include,
+ * which it is not by default, and it is served on management.server.port if that is set.
+ */
+@Component
+@Endpoint(id = "recording")
+public class RecordingEndpoint {
+    /**
+     * Number of bytes in a megabyte, sizes of recordings are given in megabytes.
+     */
+    private static final long MEGABYTE = 1024 * 1024;
+
+    /**
+     * Time after which a recording stops by itself in minutes if it is not given.
+     */
+    static final long DEFAULT_MINUTES = 5;
+
+    /**
+     * Size of the data kept by a recording in megabytes if it is not given.
+     */
+    static final long DEFAULT_MAX_SIZE_MB = 100;
+
+    /**
+     * Service making the recordings.
+     */
+    private final RecordingService recordingService;
+
+    /**
+     * Constructor.
+     * @param recordingService service making the recordings
+     */
+    public RecordingEndpoint(RecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    /**
+     * Starts a flight recording, POST /actuator/recording with JSON body {"minutes": 5, "maxSizeMb": 100}, both fields are optional.
+     * @param minutes time after which the recording stops by itself in minutes, at most 60, 5 if not given
+     * @param maxSizeMb size of the kept data in megabytes, at most 500, 100 if not given, older data is dropped when it is exceeded
+     * @return message with 200 OK code if the recording was started,
+     *         error message with 400 Bad Request code in case of invalid limits or if a recording is already running
+     */
+    @WriteOperation
+    public WebEndpointResponse<String> start(@Nullable Long minutes, @Nullable Long maxSizeMb) {
+        long duration = minutes == null ? DEFAULT_MINUTES : minutes;
+        long maxSize = maxSizeMb == null ? DEFAULT_MAX_SIZE_MB : maxSizeMb;
+        if (duration <= 0 || duration > RecordingService.MAX_DURATION.toMinutes()
+                || maxSize <= 0 || maxSize > RecordingService.MAX_SIZE / MEGABYTE) {
+            String errorMessage = "Recording must last from 1 to " + RecordingService.MAX_DURATION.toMinutes()
+                    + " minutes and keep from 1 to " + RecordingService.MAX_SIZE / MEGABYTE + " MB.";
+            return new WebEndpointResponse<>(errorMessage, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recordingService.start(Duration.ofMinutes(duration), maxSize * MEGABYTE)) {
+            return new WebEndpointResponse<>("Recording is already running.", WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        return new WebEndpointResponse<>("Recording started.");
+    }
+
+    /**
+     * Stops the running flight recording, DELETE /actuator/recording, its data is kept for download.
+     * @return message with 200 OK code if the recording was stopped,
+     *         error message with 400 Bad Request code if no recording is running
+     */
+    @DeleteOperation
+    public WebEndpointResponse<String> stop() {
+        if (!recordingService.stop()) {
+            return new WebEndpointResponse<>("No recording is running.", WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        return new WebEndpointResponse<>("Recording stopped.");
+    }
+
+    /**
+     * Downloads data of the last flight recording in JFR format, GET /actuator/recording, to be opened e.g. in JDK Mission Control.
+     * Data of a running recording may miss the most recent events.
+     * @return recorded data with 200 OK code, 404 Not Found code if there is no recorded data
+     * @throws IOException if the recorded data cannot be read
+     */
+    @ReadOperation
+    public WebEndpointResponse<Resource> download() throws IOException {
+        InputStream data = recordingService.openStream();
+        if (data == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new InputStreamResource(data));
+    }
+}
@@ -0,0 +1,168 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.service.BatchBookingResult;
+import com.klima.matej.tennis_reservations_system.service.BookingResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Post processor measuring every method of every service called through its interface.
+ * Beans annotated with @Service are replaced by proxies recording timer service.operations tagged by
+ * service, method and outcome, with a percentile histogram.
+ * Services report failures by returning null or false, so the outcome is derived from the returned value:
+ * success, not-found (a finder found nothing), failed (nothing was saved or deleted) or error (an exception was thrown).
+ * Delete of a missing row succeeds, since GenericService.deleteById returns false only if the delete failed.
+ * Outcome of a booking, also of a batch booking or an update, is its status: created, overlap, not-found (court or
+ * updated reservation) or failed.
+ * Calls within a service, e.g. to its static methods, are not measured.
+ */
+public class ServiceMetricsPostProcessor implements BeanPostProcessor {
+    /**
+     * Registry the timers are registered in, resolved on first call, since post processors are created before it.
+     */
+    private final ObjectProvider<MeterRegistry> registry;
+
+    /**
+     * Registry resolved by the first call or null if no call has found it yet.
+     */
+    private volatile MeterRegistry resolvedRegistry;
+
+    /**
+     * Constructor.
+     * @param registry registry the timers are registered in
+     */
+    public ServiceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!AnnotatedElementUtils.hasAnnotation(bean.getClass(), Service.class)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(new TimingInterceptor(bean.getClass().getSimpleName()));
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * Returns registry the timers are registered in.
+     * @return registry or null if there is no registry
+     */
+    private MeterRegistry registry() {
+        MeterRegistry meterRegistry = resolvedRegistry;
+        if (meterRegistry == null) {
+            meterRegistry = registry.getIfAvailable();
+            resolvedRegistry = meterRegistry;
+        }
+        return meterRegistry;
+    }
+
+    /**
+     * Returns outcome of a service call.
+     * @param method called method
+     * @param result returned value
+     * @return outcome tag
+     */
+    static String outcome(Method method, Object result) {
+        if (result instanceof BookingResult bookingResult) {
+            return outcome(bookingResult.getStatus());
+        }
+        if (result instanceof BatchBookingResult batchBookingResult) {
+            return outcome(batchBookingResult.getStatus());
+        }
+        String name = method.getName();
+        if (result == null) {
+            return name.startsWith("find") && !name.equals("findOrCreate") ? "not-found" : "failed";
+        }
+        if (Boolean.FALSE.equals(result) && name.startsWith("delete")) {
+            return "failed";
+        }
+        return "success";
+    }
+
+    /**
+     * Returns outcome of a booking.
+     * @param status status of the booking
+     * @return outcome tag
+     */
+    private static String outcome(BookingResult.Status status) {
+        return switch (status) {
+            case CREATED -> "created";
+            case OVERLAPPING -> "overlap";
+            case COURT_NOT_FOUND, RESERVATION_NOT_FOUND -> "not-found";
+            case FAILED -> "failed";
+        };
+    }
+
+    /**
+     * Interceptor timing calls of one service.
+     */
+    private final class TimingInterceptor implements MethodInterceptor {
+        private final String service;
+
+        /**
+         * Timers by method and outcome.
+         */
+        private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(String service) {
+            this.service = service;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry meterRegistry = registry();
+            if (meterRegistry == null) {
+                return invocation.proceed();
+            }
+            Method method = invocation.getMethod();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "error";
+            try {
+                Object result = invocation.proceed();
+                outcome = outcome(method, result);
+                return result;
+            } finally {
+                sample.stop(timer(meterRegistry, method, outcome));
+            }
+        }
+
+        /**
+         * Returns timer of the method and outcome, it is created on first use.
+         * @param meterRegistry registry the timer is registered in
+         * @param method called method
+         * @param outcome outcome of the call
+         * @return timer
+         */
+        private Timer timer(MeterRegistry meterRegistry, Method method, String outcome) {
+            return timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(outcome, key -> Timer.builder("service.operations")
+                            .description("Time spent in a service method")
+                            .tags("service", service, "method", method.getName(), "outcome", outcome)
+                            .publishPercentileHistogram()
+                            .minimumExpectedValue(Duration.ofMillis(1))
+                            .maximumExpectedValue(Duration.ofSeconds(30))
+                            .register(meterRegistry));
+        }
+    }
+}
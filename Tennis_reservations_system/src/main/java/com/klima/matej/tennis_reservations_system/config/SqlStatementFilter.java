@@ -0,0 +1,144 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.util.SqlStatementCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter counting SQL statements and JDBC time of every HTTP request.
+ * Both are returned in response headers and published as metrics tagged by method and URI pattern of the request.
+ * Only statements run by the request thread before the response body is written are counted,
+ * asynchronous requests, e.g. streamed exports, get no headers and are not measured.
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+    /**
+     * Response header containing the number of SQL statements run by the request.
+     */
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+    /**
+     * Response header containing the JDBC time of the request in milliseconds, as sql metric of Server-Timing.
+     */
+    public static final String TIMING_HEADER = "Server-Timing";
+
+    /**
+     * Registry the metrics are published to, it is missing when actuator is not configured, e.g. in web layer tests.
+     */
+    private final ObjectProvider<MeterRegistry> registry;
+
+    /**
+     * Constructor.
+     * @param registry registry the metrics are published to
+     */
+    public SqlStatementFilter(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Count count = SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, new HeaderWritingResponse(request, response, count));
+        } finally {
+            SqlStatementCounter.stop();
+        }
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        writeHeaders(request, response, count);
+
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uriTag = uri == null ? "UNKNOWN" : uri.toString();
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements run by a request")
+                    .tags("method", request.getMethod(), "uri", uriTag)
+                    .register(meterRegistry)
+                    .record(count.getStatements());
+            Timer.builder("http.server.requests.sql.time")
+                    .description("Time spent executing SQL statements of a request")
+                    .tags("method", request.getMethod(), "uri", uriTag)
+                    .register(meterRegistry)
+                    .record(count.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Sets headers with the current count unless the response is already committed.
+     * @param request request the response belongs to
+     * @param response response the headers are set to
+     * @param count count of the request
+     */
+    private static void writeHeaders(HttpServletRequest request, HttpServletResponse response, SqlStatementCounter.Count count) {
+        if (response.isCommitted() || request.isAsyncStarted()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(count.getStatements()));
+        response.setHeader(TIMING_HEADER, String.format(Locale.ROOT, "sql;dur=%.3f", count.getJdbcNanos() / 1e6));
+    }
+
+    /**
+     * Response setting the headers just before its body is written, when it cannot be changed after the filter chain.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+
+        private final SqlStatementCounter.Count count;
+
+        private HeaderWritingResponse(HttpServletRequest request, HttpServletResponse response, SqlStatementCounter.Count count) {
+            super(response);
+            this.request = request;
+            this.count = count;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders(request, this, count);
+            return super.getOutputStream();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders(request, this, count);
+            return super.getWriter();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders(request, this, count);
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.util.SqlStatementLog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes latency histograms of SQL statements as timer sql.statements tagged by statement ID.
+ * Timers are registered by SqlStatementLog when a statement is executed for the first time.
+ */
+public class SqlStatementMetrics implements MeterBinder {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SqlStatementLog.setMeterRegistry(registry);
+    }
+}
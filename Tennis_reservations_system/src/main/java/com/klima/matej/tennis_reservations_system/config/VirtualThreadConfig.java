@@ -0,0 +1,41 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration running request handling on virtual threads, enabled by spring.threads.virtual.enabled=true.
+ * Tomcat starts every request on a new virtual thread instead of taking one of its worker threads,
+ * so services called by the request block only the virtual thread while they wait for JDBC.
+ * Asynchronous requests, e.g. streamed exports, are continued on virtual threads as well.
+ * The property has the same name as in later Spring Boot versions, which configure virtual threads by themselves.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    /**
+     * Replaces the worker thread pool of Tomcat with a virtual thread per request.
+     * @return customizer of the Tomcat protocol handler
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates executor of asynchronous requests running every task on a new virtual thread.
+     * @return task executor replacing the default thread pool of Spring Boot
+     */
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -1,6 +1,7 @@
 package com.klima.matej.tennis_reservations_system.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +17,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 import org.hibernate.annotations.SQLDelete;
@@ -28,6 +31,7 @@ import java.util.Set;
  * Entity class representing a tennis court.
  * It is used to store information about the court.
  * It is also used to map the court to the database.
+ * It is stored in the second-level cache, the cached entry is replaced on update and removed on delete.
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +40,8 @@ import java.util.Set;
 @SQLDelete(sql = "UPDATE court SET deleted = true WHERE id=?")
 @Where(clause = "deleted=false")
 @JsonIgnoreProperties({"reservations", "deleted"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity
 
 public class Court {
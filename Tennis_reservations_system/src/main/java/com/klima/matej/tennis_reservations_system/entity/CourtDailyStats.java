@@ -0,0 +1,75 @@
+package com.klima.matej.tennis_reservations_system.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Entity class representing totals of the reservations of one court beginning on one day.
+ * It is maintained together with the reservations, so statistics are read without scanning the reservations.
+ * The day is taken from the beginning of the reservation in the default time zone of the application.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Entity
+@Table(name = "court_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_court_daily_stats_court_day", columnNames = {"court_id", "stats_day"})
+})
+public class CourtDailyStats {
+    /**
+     * Unique identifier of the statistics used as PK in database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private long id;
+
+    /**
+     * ID of the court.
+     */
+    @Column(name = "court_id", nullable = false)
+    private long courtId;
+
+    /**
+     * Day on which the counted reservations begin.
+     */
+    @Column(name = "stats_day", nullable = false)
+    private LocalDate day;
+
+    /**
+     * Total length of the reservations in minutes.
+     */
+    private long bookedMinutes;
+
+    /**
+     * Total price of the reservations.
+     */
+    private double revenue;
+
+    /**
+     * Number of the reservations.
+     */
+    private long bookings;
+
+    public CourtDailyStats(long courtId, LocalDate day, long bookedMinutes, double revenue, long bookings) {
+        this.courtId = courtId;
+        this.day = day;
+        this.bookedMinutes = bookedMinutes;
+        this.revenue = revenue;
+        this.bookings = bookings;
+    }
+}
@@ -1,12 +1,16 @@
 package com.klima.matej.tennis_reservations_system.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.klima.matej.tennis_reservations_system.jfr.OverlapCheckEvent;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,12 +38,19 @@ import java.util.List;
 @Where(clause = "deleted=false")
 @JsonIgnoreProperties({"deleted"})
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_reservation_court_time", columnList = "court_id, startsAt, endsAt"),
+        @Index(name = "idx_reservation_customer_starts", columnList = "customer_id, startsAt"),
+        @Index(name = "idx_reservation_court_created", columnList = "court_id, createdAt")
+})
 public class Reservation {
     /**
      * Unique identifier of the reservation used as PK in database.
+     * It is taken from a sequence in blocks, so inserts of many reservations can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
     @Setter(AccessLevel.NONE)
     private long id;
 
@@ -110,17 +121,25 @@ public class Reservation {
 
     /**
      * Method used to check if possible to create new reservation that does not overlap with any existing reservation.
+     * The check is recorded as OverlapCheckEvent.
      * @param startsAt Timestamp representing the beginning of the new reservation
      * @param endsAt Timestamp representing the end of the new reservation
      * @param reservations List of reservations to check against
      * @return true if the reservation overlaps with any other reservation, false otherwise
      */
     public static boolean isOverlapping(Timestamp startsAt, Timestamp endsAt, List<Reservation> reservations) {
+        OverlapCheckEvent event = new OverlapCheckEvent();
+        event.begin();
+        boolean overlapping = false;
         for (Reservation reservation : reservations) {
             if (startsAt.before(reservation.getEndsAt()) && endsAt.after(reservation.getStartsAt())) {
-                return true;
+                overlapping = true;
+                break;
             }
         }
-        return false;
+        event.setReservations(reservations.size());
+        event.setOverlapping(overlapping);
+        event.commit();
+        return overlapping;
     }
 }
@@ -0,0 +1,186 @@
+package com.klima.matej.tennis_reservations_system.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity class representing a weekly recurring reservation.
+ * It is stored as a single row, its occurrences are computed only for the time range in which they are needed.
+ * Occurrences begin and end on the same day in the default time zone of the application.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@SQLDelete(sql = "UPDATE reservation_series SET deleted = true WHERE id=?")
+@Where(clause = "deleted=false")
+@JsonIgnoreProperties({"deleted"})
+@Entity
+@Table(name = "reservation_series", indexes = {
+        @Index(name = "idx_reservation_series_court_dates", columnList = "court_id, startsOn, until")
+})
+public class ReservationSeries {
+    /**
+     * Unique identifier of the series used as PK in database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private long id;
+
+    /**
+     * Boolean value representing whether the occurrences are for doubles game or not.
+     */
+    private boolean doubles;
+
+    /**
+     * Timestamp of the creation of the series.
+     */
+    @Builder.Default
+    private Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+
+    /**
+     * Day of the week on which the occurrences take place.
+     */
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+
+    /**
+     * Time of the day at which every occurrence begins.
+     */
+    private LocalTime startTime;
+
+    /**
+     * Time of the day at which every occurrence ends.
+     */
+    private LocalTime endTime;
+
+    /**
+     * First day on which an occurrence may take place.
+     */
+    private LocalDate startsOn;
+
+    /**
+     * Last day on which an occurrence may take place.
+     */
+    private LocalDate until;
+
+    /**
+     * Price of a single occurrence.
+     */
+    private double price;
+
+    /**
+     * Customer who made the series.
+     */
+    @ManyToOne
+    @JoinColumn(name="customer_id", nullable=false)
+    @NotFound(action = NotFoundAction.IGNORE)
+    private Customer customer;
+
+    /**
+     * Court on which the series is made.
+     */
+    @ManyToOne
+    @JoinColumn(name="court_id", nullable=false)
+    @NotFound(action = NotFoundAction.IGNORE)
+    private Court court;
+
+    /**
+     * Boolean value representing whether the series is deleted or not.
+     */
+    @Builder.Default
+    @Setter(AccessLevel.NONE)
+    private Boolean deleted = false;
+
+    /**
+     * Method used to calculate the price of a single occurrence, it is the same as for a reservation of the same length.
+     * @return price of a single occurrence
+     */
+    public double calculatePrice() {
+        long duration = ChronoUnit.MINUTES.between(this.startTime, this.endTime);
+        return duration * this.court.getSurface().getMinutePrice() * (this.doubles ? 1.5 : 1);
+    }
+
+    /**
+     * Method used to count all occurrences of the series.
+     * @return number of occurrences
+     */
+    public long countOccurrences() {
+        LocalDate first = this.startsOn.with(TemporalAdjusters.nextOrSame(this.dayOfWeek));
+        return first.isAfter(this.until) ? 0 : ChronoUnit.WEEKS.between(first, this.until) + 1;
+    }
+
+    /**
+     * Method used to find occurrences overlapping with the given time range.
+     * Only the days within the time range are visited, so the cost does not depend on the length of the series.
+     * @param from beginning of the time range in epoch milliseconds
+     * @param to end of the time range in epoch milliseconds
+     * @return occurrences as pairs of beginning and end in epoch milliseconds, ordered by beginning
+     */
+    public List<long[]> occurrences(long from, long to) {
+        List<long[]> occurrences = new ArrayList<>();
+        LocalDate first = new Timestamp(from).toLocalDateTime().toLocalDate();
+        LocalDate last = new Timestamp(to).toLocalDateTime().toLocalDate();
+        if (first.isBefore(this.startsOn)) {
+            first = this.startsOn;
+        }
+        if (last.isAfter(this.until)) {
+            last = this.until;
+        }
+        for (LocalDate day = first.with(TemporalAdjusters.nextOrSame(this.dayOfWeek)); !day.isAfter(last); day = day.plusWeeks(1)) {
+            long start = Timestamp.valueOf(day.atTime(this.startTime)).getTime();
+            long end = Timestamp.valueOf(day.atTime(this.endTime)).getTime();
+            if (start < to && end > from) {
+                occurrences.add(new long[]{start, end});
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Method used to expand occurrences overlapping with the given time range into reservations.
+     * Returned reservations are not stored in the database and have no ID.
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @return reservations representing the occurrences, ordered by beginning
+     */
+    public List<Reservation> expand(Timestamp from, Timestamp to) {
+        List<Reservation> reservations = new ArrayList<>();
+        for (long[] occurrence : occurrences(from.getTime(), to.getTime())) {
+            Reservation reservation = new Reservation(this.doubles, this.customer, this.court,
+                    new Timestamp(occurrence[0]), new Timestamp(occurrence[1]));
+            reservation.setCreatedAt(this.createdAt);
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+}
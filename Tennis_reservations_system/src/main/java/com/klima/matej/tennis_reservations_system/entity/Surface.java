@@ -1,6 +1,7 @@
 package com.klima.matej.tennis_reservations_system.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -15,6 +16,8 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -25,6 +28,7 @@ import java.util.Set;
  * Entity class representing a surface.
  * It is used to store information about the surface.
  * It is also used to map the surface to the database.
+ * It is stored in the second-level cache, the cached entry is replaced on update and removed on delete.
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +36,8 @@ import java.util.Set;
 @SQLDelete(sql = "UPDATE surface SET deleted = true WHERE id=?")
 @Where(clause = "deleted=false")
 @JsonIgnoreProperties({"courts", "deleted"} )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity
 public class Surface {
     /**
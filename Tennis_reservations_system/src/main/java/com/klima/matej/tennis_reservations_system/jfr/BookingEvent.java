@@ -0,0 +1,44 @@
+package com.klima.matej.tennis_reservations_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of a booking made by the create reservation endpoint, it lasts from the request for the court lock
+ * until the booking is finished.
+ */
+@Name("tennis.Booking")
+@Label("Booking")
+@Category("Tennis Reservations")
+@Description("Booking of a single reservation including the wait for the court lock")
+@Setter
+public class BookingEvent extends Event {
+    /**
+     * Status of a booking which ended by an exception.
+     */
+    public static final String ERROR = "ERROR";
+
+    /**
+     * ID of the booked court.
+     */
+    @Label("Court ID")
+    private long courtId;
+
+    /**
+     * Status of the booking result, e.g. CREATED or OVERLAPPING, or ERROR if the booking ended by an exception.
+     */
+    @Label("Status")
+    private String status;
+
+    /**
+     * Time spent waiting for the lock of the court.
+     */
+    @Label("Court Lock Wait")
+    @Timespan
+    private long lockWait;
+}
@@ -0,0 +1,25 @@
+package com.klima.matej.tennis_reservations_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of a lookup of a customer by phone number.
+ * The phone number is not recorded, recordings may be shared outside of the club.
+ */
+@Name("tennis.CustomerLookup")
+@Label("Customer Lookup")
+@Category("Tennis Reservations")
+@Description("Lookup of a customer by phone number")
+@Setter
+public class CustomerLookupEvent extends Event {
+    /**
+     * Whether the customer exists.
+     */
+    @Label("Found")
+    private boolean found;
+}
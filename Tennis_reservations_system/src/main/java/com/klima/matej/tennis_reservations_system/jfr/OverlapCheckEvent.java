@@ -0,0 +1,31 @@
+package com.klima.matej.tennis_reservations_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of a check in memory by Reservation.isOverlapping whether a new reservation overlaps
+ * with the given reservations, checks in the database are recorded as OverlapQueryEvent.
+ */
+@Name("tennis.OverlapCheck")
+@Label("Overlap Check")
+@Category("Tennis Reservations")
+@Description("Check in memory whether a new reservation overlaps with the given reservations")
+@Setter
+public class OverlapCheckEvent extends Event {
+    /**
+     * Number of compared reservations.
+     */
+    @Label("Reservations")
+    private int reservations;
+
+    /**
+     * Whether the new reservation overlaps with any of the compared reservations.
+     */
+    @Label("Overlapping")
+    private boolean overlapping;
+}
@@ -0,0 +1,31 @@
+package com.klima.matej.tennis_reservations_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of a check in the database whether a new reservation overlaps with existing reservations
+ * or occurrences of series of the court when booking.
+ */
+@Name("tennis.OverlapQuery")
+@Label("Overlap Query")
+@Category("Tennis Reservations")
+@Description("Check in the database whether a new reservation overlaps with existing reservations of the court")
+@Setter
+public class OverlapQueryEvent extends Event {
+    /**
+     * ID of the checked court.
+     */
+    @Label("Court ID")
+    private long courtId;
+
+    /**
+     * Whether the new reservation overlaps with an existing reservation or occurrence of a series.
+     */
+    @Label("Overlapping")
+    private boolean overlapping;
+}
@@ -0,0 +1,32 @@
+package com.klima.matej.tennis_reservations_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of a Hibernate session, it lasts from opening of the session until it is closed.
+ */
+@Name("tennis.HibernateSession")
+@Label("Hibernate Session")
+@Category("Tennis Reservations")
+@Description("Hibernate session from open to close")
+@Setter
+public class SessionEvent extends Event {
+    /**
+     * Number of statements prepared by the session.
+     */
+    @Label("Statements")
+    private int statements;
+
+    /**
+     * Time spent executing the statements of the session.
+     */
+    @Label("JDBC Time")
+    @Timespan
+    private long jdbcTime;
+}
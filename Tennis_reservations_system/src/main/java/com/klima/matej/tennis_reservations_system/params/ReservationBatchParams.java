@@ -0,0 +1,32 @@
+package com.klima.matej.tennis_reservations_system.params;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * Class used to store parameters for creating multiple reservations at once.
+ * All attributes are required. The builder is used by Jackson, a single-argument constructor would be ambiguous for it.
+ */
+@Getter
+@Builder
+@Jacksonized
+public class ReservationBatchParams {
+    /**
+     * Maximum number of reservations created by one request.
+     */
+    public static final int MAX_SIZE = 500;
+
+    /**
+     * Reservations to be created.
+     */
+    @Valid
+    @NotEmpty(message = "reservations are required")
+    @Size(max = MAX_SIZE, message = "at most " + MAX_SIZE + " reservations can be created at once")
+    private List<ReservationCreateParams> reservations;
+}
@@ -0,0 +1,76 @@
+package com.klima.matej.tennis_reservations_system.params;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Class used to store parameters for creating weekly reservation series.
+ * All attributes are required.
+ */
+@Getter
+@Builder
+public class ReservationSeriesCreateParams {
+    /**
+     * Maximum number of weeks between the first and the last day of a series.
+     */
+    public static final int MAX_WEEKS = 104;
+
+    /**
+     * ID of the court of the series.
+     */
+    @NotNull(message = "courtId is required")
+    private long courtId;
+
+    /**
+     * Phone number of the customer creating the series.
+     */
+    @NotNull(message = "customerPhoneNumber is required")
+    private String customerPhoneNumber;
+
+    /**
+     * Name of the customer creating the series.
+     */
+    @NotNull(message = "customerName is required")
+    private String customerName;
+
+    /**
+     * Whether the occurrences are doubles or not.
+     */
+    @NotNull(message = "isDoubles is required")
+    private boolean isDoubles;
+
+    /**
+     * Day of the week on which the occurrences take place.
+     */
+    @NotNull(message = "dayOfWeek is required")
+    private DayOfWeek dayOfWeek;
+
+    /**
+     * Time of the day at which every occurrence begins.
+     */
+    @NotNull(message = "startTime is required")
+    private LocalTime startTime;
+
+    /**
+     * Time of the day at which every occurrence ends.
+     */
+    @NotNull(message = "endTime is required")
+    private LocalTime endTime;
+
+    /**
+     * First day on which an occurrence may take place.
+     */
+    @NotNull(message = "startsOn is required")
+    private LocalDate startsOn;
+
+    /**
+     * Last day on which an occurrence may take place.
+     */
+    @NotNull(message = "until is required")
+    private LocalDate until;
+}
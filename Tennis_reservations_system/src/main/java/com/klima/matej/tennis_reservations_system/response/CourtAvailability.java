@@ -0,0 +1,24 @@
+package com.klima.matej.tennis_reservations_system.response;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Class representing free time of a court within the searched time range.
+ */
+@Getter
+@AllArgsConstructor
+public class CourtAvailability {
+    /**
+     * Court the free slots belong to.
+     */
+    private Court court;
+
+    /**
+     * Free slots of the court ordered by their beginning.
+     */
+    private List<FreeSlot> freeSlots;
+}
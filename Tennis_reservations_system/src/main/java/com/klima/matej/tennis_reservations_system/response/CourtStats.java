@@ -0,0 +1,31 @@
+package com.klima.matej.tennis_reservations_system.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Class representing totals of the reservations of a court within the requested days.
+ */
+@Getter
+@AllArgsConstructor
+public class CourtStats {
+    /**
+     * ID of the court.
+     */
+    private long courtId;
+
+    /**
+     * Total length of the reservations in minutes.
+     */
+    private long bookedMinutes;
+
+    /**
+     * Total price of the reservations.
+     */
+    private double revenue;
+
+    /**
+     * Number of the reservations.
+     */
+    private long bookings;
+}
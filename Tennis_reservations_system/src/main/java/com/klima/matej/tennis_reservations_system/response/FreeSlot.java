@@ -0,0 +1,23 @@
+package com.klima.matej.tennis_reservations_system.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+/**
+ * Class representing a time interval in which a court is not reserved.
+ */
+@Getter
+@AllArgsConstructor
+public class FreeSlot {
+    /**
+     * Beginning of the free interval.
+     */
+    private Timestamp startsAt;
+
+    /**
+     * End of the free interval.
+     */
+    private Timestamp endsAt;
+}
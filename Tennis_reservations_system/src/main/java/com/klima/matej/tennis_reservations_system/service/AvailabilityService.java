@@ -0,0 +1,22 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.response.CourtAvailability;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Service interface for searching free time of courts.
+ */
+public interface AvailabilityService {
+    /**
+     * Finds free slots of all courts within the given time range.
+     * Courts without any free slot long enough are not returned.
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @param surfaceId ID of the surface the courts must have or null for courts with any surface
+     * @param minMinutes minimal length of a returned free slot in minutes
+     * @return free slots of the courts ordered by court ID
+     */
+    List<CourtAvailability> findFreeSlots(Timestamp from, Timestamp to, Long surfaceId, int minMinutes);
+}
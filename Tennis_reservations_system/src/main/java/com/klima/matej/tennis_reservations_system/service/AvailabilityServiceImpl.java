@@ -0,0 +1,90 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.response.CourtAvailability;
+import com.klima.matej.tennis_reservations_system.response.FreeSlot;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service implementation for searching free time of courts.
+ * Busy time of all searched courts is read by BookingSupport.findTimelines in the same session as the courts,
+ * so the free slot search and the timelines of courts use the same queries.
+ * Free slots are computed from the timelines in memory.
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+    /**
+     * Session factory used to create sessions.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Operations on an open session shared with the booking, including the search of busy time.
+     */
+    private final BookingSupport bookingSupport;
+
+    /**
+     * Constructor.
+     */
+    public AvailabilityServiceImpl() {
+        this(HibernateUtil.getSessionFactory(), new BookingSupport());
+    }
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
+     * @param bookingSupport operations on an open session shared with the booking
+     */
+    @Autowired
+    AvailabilityServiceImpl(SessionFactory sessionFactory, BookingSupport bookingSupport) {
+        this.sessionFactory = sessionFactory;
+        this.bookingSupport = bookingSupport;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourtAvailability> findFreeSlots(Timestamp from, Timestamp to, Long surfaceId, int minMinutes) {
+        List<Court> courts;
+        Map<Long, CourtTimeline> timelines;
+        try (Session session = sessionFactory.openSession()) {
+            Query<Court> courtQuery = session.createQuery("SELECT c FROM Court c LEFT JOIN FETCH c.surface" +
+                    (surfaceId == null ? "" : " WHERE c.surface.id = :surfaceId") + " ORDER BY c.id", Court.class);
+            if (surfaceId != null) {
+                courtQuery.setParameter("surfaceId", surfaceId);
+            }
+            courts = courtQuery.getResultList();
+            if (courts.isEmpty()) {
+                return List.of();
+            }
+            List<Long> courtIds = courts.stream().map(Court::getId).toList();
+            timelines = bookingSupport.findTimelines(session, courtIds, from, to);
+        }
+
+        long minLength = minMinutes * 60000L;
+        List<CourtAvailability> availability = new ArrayList<>();
+        for (Court court : courts) {
+            CourtTimeline timeline = timelines.getOrDefault(court.getId(), CourtTimeline.of(List.of()));
+            List<FreeSlot> freeSlots = timeline.freeIntervals(from.getTime(), to.getTime(), minLength).stream()
+                    .map(interval -> new FreeSlot(new Timestamp(interval[0]), new Timestamp(interval[1])))
+                    .toList();
+            if (!freeSlots.isEmpty()) {
+                availability.add(new CourtAvailability(court, freeSlots));
+            }
+        }
+        return availability;
+    }
+}
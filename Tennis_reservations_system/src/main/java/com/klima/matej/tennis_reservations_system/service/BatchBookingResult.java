@@ -0,0 +1,57 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Class representing the outcome of booking multiple reservations at once.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchBookingResult {
+    /**
+     * Outcome of the booking, CREATED only if all reservations were created.
+     */
+    private final BookingResult.Status status;
+
+    /**
+     * Created reservations in the order of the request, null unless the status is CREATED.
+     */
+    private final List<Reservation> reservations;
+
+    /**
+     * Index of the reservation which was rejected, -1 if the status is CREATED or FAILED.
+     */
+    private final int index;
+
+    /**
+     * Creates result of a successful booking.
+     * @param reservations created reservations
+     * @return result with status CREATED
+     */
+    public static BatchBookingResult created(List<Reservation> reservations) {
+        return new BatchBookingResult(BookingResult.Status.CREATED, reservations, -1);
+    }
+
+    /**
+     * Creates result of a booking which did not create any reservation because of the given reservation.
+     * @param status reason why no reservation was created
+     * @param index index of the rejected reservation
+     * @return result without reservations
+     */
+    public static BatchBookingResult rejected(BookingResult.Status status, int index) {
+        return new BatchBookingResult(status, null, index);
+    }
+
+    /**
+     * Creates result of a booking which could not be saved.
+     * @return result with status FAILED
+     */
+    public static BatchBookingResult failed() {
+        return new BatchBookingResult(BookingResult.Status.FAILED, null, -1);
+    }
+}
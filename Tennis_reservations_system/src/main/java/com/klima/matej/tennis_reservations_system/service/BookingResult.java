@@ -0,0 +1,67 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Class representing the outcome of a booking.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingResult {
+    /**
+     * Possible outcomes of a booking.
+     */
+    public enum Status {
+        /**
+         * Reservation was created, or updated by BookingService.update.
+         */
+        CREATED,
+        /**
+         * Court of the reservation does not exist.
+         */
+        COURT_NOT_FOUND,
+        /**
+         * Updated reservation does not exist.
+         */
+        RESERVATION_NOT_FOUND,
+        /**
+         * Reservation is overlapping with existing reservation of the court.
+         */
+        OVERLAPPING,
+        /**
+         * Reservation could not be saved.
+         */
+        FAILED
+    }
+
+    /**
+     * Outcome of the booking.
+     */
+    private final Status status;
+
+    /**
+     * Created or updated reservation, null unless the status is CREATED.
+     */
+    private final Reservation reservation;
+
+    /**
+     * Creates result of a successful booking.
+     * @param reservation created reservation
+     * @return result with status CREATED
+     */
+    public static BookingResult created(Reservation reservation) {
+        return new BookingResult(Status.CREATED, reservation);
+    }
+
+    /**
+     * Creates result of a booking which did not create any reservation.
+     * @param status reason why no reservation was created
+     * @return result without reservation
+     */
+    public static BookingResult rejected(Status status) {
+        return new BookingResult(status, null);
+    }
+}
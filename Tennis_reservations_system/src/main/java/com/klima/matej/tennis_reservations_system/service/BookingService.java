@@ -0,0 +1,42 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
+
+import java.util.List;
+
+/**
+ * Service interface for booking courts.
+ */
+public interface BookingService {
+    /**
+     * Creates a reservation with the given parameters, the customer is created if no customer has the given phone number.
+     * The check for overlapping reservations, the lookups and all inserts are done in a single session and transaction,
+     * so a booking uses one database connection and nothing is saved unless the reservation is created.
+     * Bookings of the same court must be serialized by the caller, otherwise two of them may pass the overlap check at once.
+     * @param params parameters of the reservation
+     * @return result of the booking containing the created reservation or the reason why it was not created
+     */
+    BookingResult book(ReservationCreateParams params);
+
+    /**
+     * Creates all reservations with the given parameters or none of them, customers are created as in book.
+     * The lookups of the courts, the check for overlapping existing reservations, the customers and all inserts are done
+     * in a single session and transaction, so no customer is saved unless all reservations are created.
+     * The reservations must not overlap each other and bookings of their courts must be serialized by the caller.
+     * @param params parameters of the reservations
+     * @return result of the booking containing the created reservations in the given order or the reason and index
+     *         of the reservation because of which none was created
+     */
+    BatchBookingResult bookAll(List<ReservationCreateParams> params);
+
+    /**
+     * Updates the stored reservation to the state of the given reservation unless it would overlap with another reservation
+     * or an occurrence of a series of its court. The stored reservation is read, and the overlap check, the update and
+     * the statistics of its previous and new court are done in a single session and transaction.
+     * Bookings of the new court of the reservation must be serialized by the caller as in book.
+     * @param reservation reservation with the ID of the stored reservation and its new state, its customer must exist
+     * @return result of the booking containing the updated reservation or the reason why it was not updated
+     */
+    BookingResult update(Reservation reservation);
+}
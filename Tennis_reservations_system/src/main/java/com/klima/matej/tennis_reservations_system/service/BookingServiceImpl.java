@@ -0,0 +1,244 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Service implementation for booking courts.
+ */
+@Service
+public class BookingServiceImpl implements BookingService {
+    /**
+     * Session factory used to create sessions.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Operations on an open session shared with the reservation and customer services, including the statistics locks.
+     */
+    private final BookingSupport bookingSupport;
+
+    /**
+     * Constructor.
+     */
+    public BookingServiceImpl() {
+        this(HibernateUtil.getSessionFactory(), new BookingSupport());
+    }
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
+     * @param bookingSupport operations on an open session shared with the reservation and customer services
+     */
+    @Autowired
+    BookingServiceImpl(SessionFactory sessionFactory, BookingSupport bookingSupport) {
+        this.sessionFactory = sessionFactory;
+        this.bookingSupport = bookingSupport;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Statistics of the court are updated in the same transaction as in ReservationService, locks are taken in the order
+     * described in BookingSupport.
+     */
+    @Override
+    public BookingResult book(ReservationCreateParams params) {
+        BookingResult result = inTransaction(List.of(params.getCourtId()), session -> book(session, params),
+                BookingResult::getStatus);
+        return result == null ? BookingResult.rejected(BookingResult.Status.FAILED) : result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Statistics of the courts are updated in the same transaction as in ReservationService, locks are taken in the order
+     * described in BookingSupport.
+     */
+    @Override
+    public BatchBookingResult bookAll(List<ReservationCreateParams> params) {
+        Set<Long> courtIds = new LinkedHashSet<>();
+        for (ReservationCreateParams item : params) {
+            courtIds.add(item.getCourtId());
+        }
+        BatchBookingResult result = inTransaction(courtIds, session -> bookAll(session, params, courtIds),
+                BatchBookingResult::getStatus);
+        return result == null ? BatchBookingResult.failed() : result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Statistics locks of the new court and of the court of the stored reservation are held, the stored reservation is read
+     * after they are acquired. When the stored reservation is on a court whose lock is not held, the transaction is rolled back
+     * and repeated with that lock too, as in ReservationService.update.
+     */
+    @Override
+    public BookingResult update(Reservation reservation) {
+        Set<Long> courtIds = new HashSet<>();
+        courtIds.add(reservation.getCourt().getId());
+        while (true) {
+            Set<Long> unlockedCourtIds = new HashSet<>();
+            BookingResult result = inTransaction(courtIds, session -> update(session, reservation, courtIds, unlockedCourtIds),
+                    BookingResult::getStatus);
+            if (unlockedCourtIds.isEmpty()) {
+                return result == null ? BookingResult.rejected(BookingResult.Status.FAILED) : result;
+            }
+            courtIds.addAll(unlockedCourtIds);
+        }
+    }
+
+    /**
+     * Runs the given booking in a new session and transaction while holding statistics locks of the given courts.
+     * The transaction is committed only if the booking created the reservations, otherwise it is rolled back.
+     * @param courtIds IDs of the courts of the booked reservations
+     * @param booking booking to be done
+     * @param status returns status of the result of the booking
+     * @return result of the booking or null if the booking failed
+     */
+    private <R> R inTransaction(Collection<Long> courtIds, Function<Session, R> booking, Function<R, BookingResult.Status> status) {
+        List<Lock> statsLocks = bookingSupport.lockStats(courtIds);
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            try {
+                transaction = session.beginTransaction();
+                R result = booking.apply(session);
+                if (status.apply(result) == BookingResult.Status.CREATED) {
+                    transaction.commit();
+                } else {
+                    transaction.rollback();
+                }
+                return result;
+            } catch (Exception e) {
+                if (transaction != null && transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            bookingSupport.unlockStats(statsLocks);
+        }
+        return null;
+    }
+
+    /**
+     * Creates the reservation in the given session, the loaded court and customer are used for the reservation as they are.
+     * @param session session with an active transaction
+     * @param params parameters of the reservation
+     * @return result of the booking
+     */
+    private BookingResult book(Session session, ReservationCreateParams params) {
+        if (bookingSupport.existsOverlapping(session, params.getCourtId(), params.getStartsAt(), params.getEndsAt())) {
+            return BookingResult.rejected(BookingResult.Status.OVERLAPPING);
+        }
+
+        Court court = session.get(Court.class, params.getCourtId());
+        if (court == null) {
+            return BookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND);
+        }
+
+        Customer customer = bookingSupport.findOrCreateCustomer(session, params.getCustomerPhoneNumber(), params.getCustomerName());
+        Reservation reservation = new Reservation(params.isDoubles(), customer, court, params.getStartsAt(), params.getEndsAt());
+        session.persist(reservation);
+        bookingSupport.addToStats(session, bookingSupport.toStats(reservation, 1));
+        return BookingResult.created(reservation);
+    }
+
+    /**
+     * Updates the reservation in the given session, the reservation is checked for overlap with all other reservations of its court.
+     * @param session session with an active transaction
+     * @param reservation reservation with the ID of the stored reservation and its new state
+     * @param lockedCourtIds IDs of the courts whose statistics locks are held
+     * @param unlockedCourtIds receives ID of the court of the stored reservation if its lock is not held, the update is then not done
+     * @return result of the booking
+     */
+    private BookingResult update(Session session, Reservation reservation, Set<Long> lockedCourtIds, Set<Long> unlockedCourtIds) {
+        Reservation previous = session.get(Reservation.class, reservation.getId());
+        if (previous == null) {
+            return BookingResult.rejected(BookingResult.Status.RESERVATION_NOT_FOUND);
+        }
+        if (!lockedCourtIds.contains(previous.getCourt().getId())) {
+            unlockedCourtIds.add(previous.getCourt().getId());
+            return BookingResult.rejected(BookingResult.Status.FAILED);
+        }
+
+        long courtId = reservation.getCourt().getId();
+        if (bookingSupport.existsOverlapping(session, courtId, reservation.getStartsAt(), reservation.getEndsAt(), reservation.getId())) {
+            return BookingResult.rejected(BookingResult.Status.OVERLAPPING);
+        }
+        if (session.get(Court.class, courtId) == null) {
+            return BookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND);
+        }
+
+        bookingSupport.addToStats(session, bookingSupport.toStats(previous, -1));
+        session.merge(reservation);
+        bookingSupport.addToStats(session, bookingSupport.toStats(reservation, 1));
+        return BookingResult.created(reservation);
+    }
+
+    /**
+     * Creates the reservations in the given session. Courts are loaded once each, the existing reservations of all courts
+     * are read by one query and every customer is found or created once, even if they have multiple reservations.
+     * @param session session with an active transaction
+     * @param params parameters of the reservations
+     * @param courtIds IDs of the courts of the reservations
+     * @return result of the booking
+     */
+    private BatchBookingResult bookAll(Session session, List<ReservationCreateParams> params, Set<Long> courtIds) {
+        Map<Long, Court> courts = new HashMap<>();
+        for (int i = 0; i < params.size(); i++) {
+            long courtId = params.get(i).getCourtId();
+            if (!courts.containsKey(courtId)) {
+                Court court = session.get(Court.class, courtId);
+                if (court == null) {
+                    return BatchBookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND, i);
+                }
+                courts.put(courtId, court);
+            }
+        }
+
+        Timestamp from = params.stream().map(ReservationCreateParams::getStartsAt).min(Comparator.naturalOrder()).orElseThrow();
+        Timestamp to = params.stream().map(ReservationCreateParams::getEndsAt).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, CourtTimeline> timelines = bookingSupport.findTimelines(session, courtIds, from, to);
+        for (int i = 0; i < params.size(); i++) {
+            ReservationCreateParams item = params.get(i);
+            CourtTimeline timeline = timelines.get(item.getCourtId());
+            if (timeline != null && !timeline.isFree(item.getStartsAt().getTime(), item.getEndsAt().getTime())) {
+                return BatchBookingResult.rejected(BookingResult.Status.OVERLAPPING, i);
+            }
+        }
+
+        Map<String, Customer> customers = new HashMap<>();
+        List<Reservation> reservations = new ArrayList<>();
+        for (ReservationCreateParams item : params) {
+            Customer customer = customers.computeIfAbsent(item.getCustomerPhoneNumber(),
+                    phoneNumber -> bookingSupport.findOrCreateCustomer(session, phoneNumber, item.getCustomerName()));
+            reservations.add(new Reservation(item.isDoubles(), customer, courts.get(item.getCourtId()),
+                    item.getStartsAt(), item.getEndsAt()));
+        }
+        bookingSupport.persistAll(session, reservations);
+        return BatchBookingResult.created(reservations);
+    }
+}
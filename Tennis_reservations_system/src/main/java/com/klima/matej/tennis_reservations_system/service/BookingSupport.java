@@ -0,0 +1,336 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.CourtDailyStats;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.ReservationSeries;
+import com.klima.matej.tennis_reservations_system.jfr.OverlapQueryEvent;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
+import com.klima.matej.tennis_reservations_system.util.StripedLock;
+
+import org.hibernate.Session;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Operations on an open session shared by the reservation, customer and booking services, so they can be combined in one transaction.
+ * Lock order, every lock is acquired only while holding the locks listed before it:
+ * 1. booking locks of the courts held by the controller while a reservation is created or updated,
+ * 2. statistics locks of the changed courts, acquired by lockStats in the order of their stripes before the transaction begins
+ *    and released after it ends,
+ * 3. rows locked by the database within the transaction, e.g. the customer row locked by findOrCreateCustomer.
+ * No other lock in the application is held by a transaction.
+ */
+@Component
+class BookingSupport {
+    /**
+     * Locks serializing changes of the statistics of the same court.
+     * Shared by all instances, so the first reservation of a court and day cannot create its statistics twice.
+     */
+    private static final StripedLock STATS_LOCKS = new StripedLock(64);
+
+    /**
+     * Statement inserting a customer unless a customer with the same phone number exists, a deleted customer is restored
+     * with the given name, the name of an existing customer is kept. ID of the customer is returned by the same statement in every case.
+     * The statement is specific to H2, other databases would need their own upsert, see findOrCreateCustomer.
+     */
+    private static final String CUSTOMER_UPSERT = "SELECT id FROM FINAL TABLE (MERGE INTO customer c " +
+            "USING (VALUES (CAST(? AS VARCHAR), CAST(? AS VARCHAR))) AS s(phoneNumber, name) " +
+            "ON c.phoneNumber = s.phoneNumber " +
+            "WHEN MATCHED THEN UPDATE SET c.name = CASE WHEN c.deleted THEN s.name ELSE c.name END, c.deleted = false " +
+            "WHEN NOT MATCHED THEN INSERT (phoneNumber, name, deleted) VALUES (s.phoneNumber, s.name, false))";
+
+    /**
+     * SQL state of a unique constraint violation.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Acquires statistics locks of the given courts, to be called before the transaction changing their statistics begins.
+     * @param courtIds IDs of the courts whose statistics are changed
+     * @return acquired locks to be passed to unlockStats after the transaction ends
+     */
+    List<Lock> lockStats(Collection<Long> courtIds) {
+        List<Lock> locks = STATS_LOCKS.getAll(courtIds);
+        locks.forEach(Lock::lock);
+        return locks;
+    }
+
+    /**
+     * Releases statistics locks acquired by lockStats in the reverse order.
+     * @param locks locks returned by lockStats
+     */
+    void unlockStats(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Creates change of the statistics caused by adding or removing the given reservation.
+     * @param reservation reservation being added or removed
+     * @param sign 1 if the reservation is added, -1 if it is removed
+     * @return change of the statistics of the court and day of the reservation
+     */
+    CourtDailyStats toStats(Reservation reservation, int sign) {
+        long minutes = (reservation.getEndsAt().getTime() - reservation.getStartsAt().getTime()) / 60000;
+        return new CourtDailyStats(reservation.getCourt().getId(), reservation.getStartsAt().toLocalDateTime().toLocalDate(),
+                sign * minutes, sign * reservation.getPrice(), sign);
+    }
+
+    /**
+     * Adds the given change to the statistics of its court and day, the statistics are created if they do not exist yet.
+     * Statistics lock of the court must be held.
+     * @param session session with an active transaction
+     * @param delta change of the statistics
+     */
+    void addToStats(Session session, CourtDailyStats delta) {
+        int updated = session.createMutationQuery("UPDATE CourtDailyStats s SET s.bookedMinutes = s.bookedMinutes + :minutes, " +
+                        "s.revenue = s.revenue + :revenue, s.bookings = s.bookings + :bookings " +
+                        "WHERE s.courtId = :courtId AND s.day = :day")
+                .setParameter("minutes", delta.getBookedMinutes())
+                .setParameter("revenue", delta.getRevenue())
+                .setParameter("bookings", delta.getBookings())
+                .setParameter("courtId", delta.getCourtId())
+                .setParameter("day", delta.getDay())
+                .executeUpdate();
+        if (updated == 0 && delta.getBookings() > 0) {
+            session.persist(delta);
+        }
+    }
+
+    /**
+     * Persists the given reservations and adds them to the statistics of their courts, changes of the same court and day
+     * are added at once. The persistence context is flushed and cleared after every full JDBC batch, so it does not grow
+     * with the number of reservations. Statistics locks of the courts must be held.
+     * @param session session with an active transaction
+     * @param reservations reservations to be persisted
+     */
+    void persistAll(Session session, List<Reservation> reservations) {
+        Map<Long, Map<LocalDate, CourtDailyStats>> stats = new HashMap<>();
+        for (Reservation reservation : reservations) {
+            CourtDailyStats delta = toStats(reservation, 1);
+            stats.computeIfAbsent(delta.getCourtId(), courtId -> new HashMap<>())
+                    .merge(delta.getDay(), delta, (total, added) -> {
+                        total.setBookedMinutes(total.getBookedMinutes() + added.getBookedMinutes());
+                        total.setRevenue(total.getRevenue() + added.getRevenue());
+                        total.setBookings(total.getBookings() + added.getBookings());
+                        return total;
+                    });
+        }
+        int flushEvery = Math.max(session.getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize(), 1);
+        for (int i = 0; i < reservations.size(); i++) {
+            session.persist(reservations.get(i));
+            if ((i + 1) % flushEvery == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        stats.values().forEach(days -> days.values().forEach(delta -> addToStats(session, delta)));
+    }
+
+    /**
+     * Checks whether a reservation with the given time range would overlap with any existing reservation of the court,
+     * including occurrences of reservation series, in the given session.
+     * The check is recorded as OverlapQueryEvent.
+     * @param session open session
+     * @param courtId ID of the court
+     * @param startsAt beginning of the time range
+     * @param endsAt end of the time range
+     * @return true if the time range overlaps with any existing reservation of the court, false otherwise
+     */
+    boolean existsOverlapping(Session session, long courtId, Timestamp startsAt, Timestamp endsAt) {
+        return existsOverlapping(session, courtId, startsAt, endsAt, 0);
+    }
+
+    /**
+     * Checks whether a reservation with the given time range would overlap with any existing reservation of the court
+     * other than the given one, including occurrences of reservation series, in the given session.
+     * The check is recorded as OverlapQueryEvent.
+     * @param session open session
+     * @param courtId ID of the court
+     * @param startsAt beginning of the time range
+     * @param endsAt end of the time range
+     * @param excludedId ID of the reservation which is not checked, e.g. the updated one, 0 for none
+     * @return true if the time range overlaps with any other existing reservation of the court, false otherwise
+     */
+    boolean existsOverlapping(Session session, long courtId, Timestamp startsAt, Timestamp endsAt, long excludedId) {
+        OverlapQueryEvent event = new OverlapQueryEvent();
+        event.begin();
+        event.setCourtId(courtId);
+        boolean overlapping = existsOverlappingReservationOrSeries(session, courtId, startsAt, endsAt, excludedId);
+        event.setOverlapping(overlapping);
+        event.commit();
+        return overlapping;
+    }
+
+    /**
+     * Checks overlap for existsOverlapping, reservations are checked by a query first, then occurrences of active series.
+     * @param session open session
+     * @param courtId ID of the court
+     * @param startsAt beginning of the time range
+     * @param endsAt end of the time range
+     * @param excludedId ID of the reservation which is not checked, 0 for none
+     * @return true if the time range overlaps with any other existing reservation or occurrence of the court, false otherwise
+     */
+    private boolean existsOverlappingReservationOrSeries(Session session, long courtId, Timestamp startsAt, Timestamp endsAt,
+                                                         long excludedId) {
+        boolean overlapping = session.createQuery("SELECT CASE WHEN EXISTS (SELECT r.id FROM Reservation r WHERE fk(r.court) = :courtId " +
+                        "AND r.startsAt < :endsAt AND r.endsAt > :startsAt AND r.id <> :excludedId) " +
+                        "THEN true ELSE false END", Boolean.class)
+                .setParameter("courtId", courtId)
+                .setParameter("excludedId", excludedId)
+                .setParameter("startsAt", startsAt)
+                .setParameter("endsAt", endsAt)
+                .getSingleResult();
+        if (overlapping) {
+            return true;
+        }
+        for (ReservationSeries series : findActiveSeries(session, List.of(courtId), startsAt, endsAt)) {
+            if (!series.occurrences(startsAt.getTime(), endsAt.getTime()).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds busy time of the given courts within the given time range in the given session.
+     * Reservations are read by one query for all the courts, occurrences of series
+     * are expanded only for the given time range and merged with the reservations.
+     * @param session open session
+     * @param courtIds IDs of the courts, not empty
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @return timelines of the courts with any busy time in the range, courts without busy time are missing
+     */
+    Map<Long, CourtTimeline> findTimelines(Session session, Collection<Long> courtIds, Timestamp from, Timestamp to) {
+        Map<Long, List<long[]>> busy = new HashMap<>();
+        List<Object[]> rows = session.createQuery("SELECT c.id, r.startsAt, r.endsAt FROM Reservation r JOIN r.court c " +
+                        "WHERE c.id IN :courtIds AND r.startsAt < :to AND r.endsAt > :from", Object[].class)
+                .setParameter("courtIds", courtIds)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+        for (Object[] row : rows) {
+            busy.computeIfAbsent((Long) row[0], courtId -> new ArrayList<>())
+                    .add(new long[]{((Timestamp) row[1]).getTime(), ((Timestamp) row[2]).getTime()});
+        }
+        for (ReservationSeries series : findActiveSeries(session, courtIds, from, to)) {
+            List<long[]> occurrences = series.occurrences(from.getTime(), to.getTime());
+            if (!occurrences.isEmpty()) {
+                busy.computeIfAbsent(series.getCourt().getId(), courtId -> new ArrayList<>()).addAll(occurrences);
+            }
+        }
+        Map<Long, CourtTimeline> timelines = new HashMap<>();
+        busy.forEach((courtId, intervals) -> timelines.put(courtId, CourtTimeline.of(intervals)));
+        return timelines;
+    }
+
+    /**
+     * Returns joins fetching customer, court and surface of the court of reservation series with the given alias.
+     * Used by the reservation series service and by findActiveSeries, so series are always loaded with the same associations.
+     * @param alias alias of the series in the query
+     * @return joins to be appended to the FROM clause
+     */
+    String seriesFetchJoins(String alias) {
+        return " LEFT JOIN FETCH " + alias + ".customer LEFT JOIN FETCH " + alias + ".court " + alias + "_court" +
+                " LEFT JOIN FETCH " + alias + "_court.surface";
+    }
+
+    /**
+     * Finds series of the given courts which may have an occurrence in the given time range in the given session.
+     * @param session open session
+     * @param courtIds IDs of the courts
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @return list of series of the given courts active in the time range
+     */
+    List<ReservationSeries> findActiveSeries(Session session, Collection<Long> courtIds, Timestamp from, Timestamp to) {
+        if (courtIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return session.createQuery("SELECT s FROM ReservationSeries s" + seriesFetchJoins("s") + " WHERE s.court.id IN :courtIds " +
+                        "AND s.startsOn <= :lastDay AND s.until >= :firstDay", ReservationSeries.class)
+                .setParameter("courtIds", courtIds)
+                .setParameter("firstDay", from.toLocalDateTime().toLocalDate())
+                .setParameter("lastDay", to.toLocalDateTime().toLocalDate())
+                .getResultList();
+    }
+
+    /**
+     * Finds customer by phone number in the given session or creates it if it does not exist by the CUSTOMER_UPSERT statement.
+     * No lock in the application is needed, so it is correct with several instances of the application sharing the database.
+     * The row of the customer stays locked until the transaction ends.
+     * The statement is specific to H2 (MERGE INTO ... USING with FINAL TABLE), and H2 does not make it fully atomic:
+     * when a concurrent transaction inserts the same phone number first, the statement waits for it and then fails
+     * with a unique constraint violation, H2 repeats it by itself only if it is the first statement of its transaction,
+     * which is not the case within a booking. The statement is therefore run within a savepoint and repeated once after
+     * such violation. One retry is enough, the conflicting customer is committed by then and customers are only soft deleted,
+     * so the repeated statement matches the row. A database with an atomic upsert, e.g. INSERT ... ON CONFLICT DO UPDATE
+     * in PostgreSQL, would need neither the savepoint nor the retry.
+     * @param session session with an active transaction
+     * @param phoneNumber phone number of the customer
+     * @param name name of the customer used only if the customer is created or restored
+     * @return customer with the given phone number without fetched reservations
+     */
+    Customer findOrCreateCustomer(Session session, String phoneNumber, String name) {
+        long id = session.doReturningWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            long customerId;
+            try {
+                customerId = upsertCustomer(session, phoneNumber, name);
+            } catch (ConstraintViolationException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                customerId = upsertCustomer(session, phoneNumber, name);
+            }
+            connection.releaseSavepoint(savepoint);
+            return customerId;
+        });
+        return session.get(Customer.class, id);
+    }
+
+    /**
+     * Runs the CUSTOMER_UPSERT statement through the JDBC coordinator of the session, so the statement is counted and timed as any other.
+     * A failure does not mark the transaction for rollback, unlike a failed query of the session.
+     * @param session session with an active transaction
+     * @param phoneNumber phone number of the customer
+     * @param name name of the customer used only if the customer is created or restored
+     * @return ID of the customer
+     */
+    private static long upsertCustomer(Session session, String phoneNumber, String name) {
+        SessionImplementor sessionImplementor = session.unwrap(SessionImplementor.class);
+        JdbcCoordinator jdbcCoordinator = sessionImplementor.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(CUSTOMER_UPSERT);
+        try {
+            statement.setString(1, phoneNumber);
+            statement.setString(2, name);
+            ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement);
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw sessionImplementor.getJdbcServices().getSqlExceptionHelper().convert(e, "Customer could not be found or created.", CUSTOMER_UPSERT);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
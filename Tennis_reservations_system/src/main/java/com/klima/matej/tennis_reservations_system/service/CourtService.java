@@ -5,4 +5,13 @@ import com.klima.matej.tennis_reservations_system.entity.Court;
 /**
  * Service interface for court.
  */
-public interface CourtService extends GenericService<Court>{}
+public interface CourtService extends GenericService<Court>{
+    /**
+     * Finds court by ID together with its surface.
+     * Reservations of the court are not loaded, they are read by ReservationService.findAllByCourtId.
+     * @param id ID of the court
+     * @return court with the given ID
+     */
+    @Override
+    Court findById(long id);
+}
@@ -3,44 +3,38 @@ package com.klima.matej.tennis_reservations_system.service;
 import com.klima.matej.tennis_reservations_system.entity.Court;
 import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
 
-import jakarta.persistence.NoResultException;
-import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Objects;
-
 /**
  * Service implementation for court.
+ * Courts are found by ID through the second-level cache, their reservations are not loaded.
  */
 @Service
 public class CourtServiceImpl extends GenericServiceImpl<Court> implements CourtService {
     /**
-     * Session factory used to create sessions.
+     * Constructor.
      */
-    private final SessionFactory sessionFactory;
+    public CourtServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
 
     /**
      * Constructor.
+     * @param sessionFactory session factory used to create sessions
      */
-    public CourtServiceImpl() {
-        super(Court.class);
-        this.sessionFactory = HibernateUtil.getSessionFactory();
+    @Autowired
+    public CourtServiceImpl(SessionFactory sessionFactory) {
+        super(Court.class, sessionFactory);
     }
 
     /**
      * {@inheritDoc}
+     * Surface is fetched with the courts.
      */
     @Override
-    public Court findById(long id) {
-        try (Session session = sessionFactory.openSession()) {
-            Court court =  session.createQuery("SELECT c FROM Court c LEFT JOIN FETCH c.reservations WHERE c.id = :id", Court.class)
-                    .setParameter("id", id)
-                    .getSingleResult();
-            if (Objects.nonNull(court)) {
-                return court;
-            }
-        } catch (NoResultException ignored) {}
-        return null;
+    protected String fetchJoins(String alias) {
+        return " LEFT JOIN FETCH " + alias + ".surface";
     }
 }
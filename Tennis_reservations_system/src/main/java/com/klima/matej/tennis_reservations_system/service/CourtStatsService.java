@@ -0,0 +1,35 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.CourtDailyStats;
+import com.klima.matej.tennis_reservations_system.response.CourtStats;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for reading statistics of courts.
+ * Statistics are read from daily totals maintained together with reservations,
+ * so the cost depends on the number of courts and days, not on the number of reservations.
+ */
+public interface CourtStatsService {
+    /**
+     * Finds daily statistics of courts within the given days ordered by day and court ID.
+     * Days without any reservation of a court are not returned.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param courtId ID of the court or null for all courts
+     * @param surfaceId ID of the surface the courts must have or null for courts with any surface
+     * @return list of daily statistics
+     */
+    List<CourtDailyStats> findDaily(LocalDate from, LocalDate to, Long courtId, Long surfaceId);
+
+    /**
+     * Finds totals of courts within the given days ordered by court ID.
+     * Courts without any reservation in the days are not returned.
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param surfaceId ID of the surface the courts must have or null for courts with any surface
+     * @return list of totals per court
+     */
+    List<CourtStats> findTotals(LocalDate from, LocalDate to, Long surfaceId);
+}
@@ -0,0 +1,89 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.CourtDailyStats;
+import com.klima.matej.tennis_reservations_system.response.CourtStats;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service implementation for reading statistics of courts.
+ */
+@Service
+public class CourtStatsServiceImpl implements CourtStatsService {
+    /**
+     * Condition restricting statistics to courts with the given surface.
+     */
+    private static final String SURFACE_CONDITION = " AND s.courtId IN (SELECT c.id FROM Court c WHERE fk(c.surface) = :surfaceId)";
+
+    /**
+     * Session factory used to create sessions.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Constructor.
+     */
+    public CourtStatsServiceImpl() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
+     */
+    @Autowired
+    public CourtStatsServiceImpl(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourtDailyStats> findDaily(LocalDate from, LocalDate to, Long courtId, Long surfaceId) {
+        try (Session session = sessionFactory.openSession()) {
+            Query<CourtDailyStats> query = session.createQuery("FROM CourtDailyStats s " +
+                            "WHERE s.day >= :from AND s.day <= :to AND s.bookings > 0" +
+                            (courtId == null ? "" : " AND s.courtId = :courtId") +
+                            (surfaceId == null ? "" : SURFACE_CONDITION) +
+                            " ORDER BY s.day, s.courtId", CourtDailyStats.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to);
+            if (courtId != null) {
+                query.setParameter("courtId", courtId);
+            }
+            if (surfaceId != null) {
+                query.setParameter("surfaceId", surfaceId);
+            }
+            return query.getResultList();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourtStats> findTotals(LocalDate from, LocalDate to, Long surfaceId) {
+        try (Session session = sessionFactory.openSession()) {
+            Query<CourtStats> query = session.createQuery("SELECT new " + CourtStats.class.getName() +
+                            "(s.courtId, SUM(s.bookedMinutes), SUM(s.revenue), SUM(s.bookings)) FROM CourtDailyStats s " +
+                            "WHERE s.day >= :from AND s.day <= :to" +
+                            (surfaceId == null ? "" : SURFACE_CONDITION) +
+                            " GROUP BY s.courtId HAVING SUM(s.bookings) > 0 ORDER BY s.courtId", CourtStats.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to);
+            if (surfaceId != null) {
+                query.setParameter("surfaceId", surfaceId);
+            }
+            return query.getResultList();
+        }
+    }
+}
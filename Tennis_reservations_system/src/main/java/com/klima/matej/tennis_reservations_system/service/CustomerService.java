@@ -12,4 +12,22 @@ public interface CustomerService extends GenericService<Customer>{
      * @return customer with the given phone number
      */
     Customer findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Finds customer by phone number without fetching the customer's reservations.
+     * The customer is read by one query on the unique phone number.
+     * @param phoneNumber phone number of the customer
+     * @return customer with the given phone number or null if there is no such customer
+     */
+    Customer findByPhoneNumberWithoutReservations(String phoneNumber);
+
+    /**
+     * Finds customer by phone number or creates it if there is no such customer, a deleted customer is restored.
+     * The customer is found or created by a single atomic statement, so concurrent calls with the same new phone number
+     * all return the same customer and none of them fails, also when they come from several instances of the application.
+     * @param phoneNumber phone number of the customer
+     * @param name name of the customer used only if the customer is created or restored
+     * @return customer with the given phone number without fetched reservations or null if it could not be created
+     */
+    Customer findOrCreate(String phoneNumber, String name);
 }
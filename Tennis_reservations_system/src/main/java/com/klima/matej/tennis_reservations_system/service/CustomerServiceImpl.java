@@ -1,12 +1,15 @@
 package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.jfr.CustomerLookupEvent;
 import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
 
 import jakarta.persistence.NoResultException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
 
 import java.util.Objects;
 
@@ -15,17 +18,38 @@ import java.util.Objects;
  */
 @Service
 public class CustomerServiceImpl extends GenericServiceImpl<Customer> implements CustomerService {
+    /**
+     * Joins fetching reservations of a customer together with their courts and surfaces, so they are not loaded one by one.
+     */
+    private static final String RESERVATIONS_FETCH_JOINS = " LEFT JOIN FETCH c.reservations r LEFT JOIN FETCH r.court co LEFT JOIN FETCH co.surface";
+
     /**
      * Session factory used to create sessions.
      */
     private final SessionFactory sessionFactory;
 
+    /**
+     * Operations on an open session shared with the booking.
+     */
+    private final BookingSupport bookingSupport;
+
     /**
      * Constructor.
      */
     public CustomerServiceImpl() {
-        super(Customer.class);
-        this.sessionFactory = HibernateUtil.getSessionFactory();
+        this(HibernateUtil.getSessionFactory(), new BookingSupport());
+    }
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
+     * @param bookingSupport operations on an open session shared with the booking
+     */
+    @Autowired
+    CustomerServiceImpl(SessionFactory sessionFactory, BookingSupport bookingSupport) {
+        super(Customer.class, sessionFactory);
+        this.sessionFactory = sessionFactory;
+        this.bookingSupport = bookingSupport;
     }
 
     /**
@@ -34,7 +58,7 @@ public class CustomerServiceImpl extends GenericServiceImpl<Customer> implements
     @Override
     public Customer findById(long id) {
         try (Session session = sessionFactory.openSession()) {
-            Customer customer =  session.createQuery("SELECT c FROM Customer c LEFT JOIN FETCH c.reservations WHERE c.id = :id", Customer.class)
+            Customer customer =  session.createQuery("SELECT c FROM Customer c" + RESERVATIONS_FETCH_JOINS + " WHERE c.id = :id", Customer.class)
                     .setParameter("id", id)
                     .getSingleResult();
             if (Objects.nonNull(customer)) {
@@ -50,7 +74,7 @@ public class CustomerServiceImpl extends GenericServiceImpl<Customer> implements
     @Override
     public Customer findByPhoneNumber(String phoneNumber) {
         try (Session session = sessionFactory.openSession()) {
-            Customer customer =  session.createQuery("SELECT c FROM Customer c LEFT JOIN FETCH c.reservations WHERE phoneNumber = :phoneNumber", Customer.class)
+            Customer customer =  session.createQuery("SELECT c FROM Customer c" + RESERVATIONS_FETCH_JOINS + " WHERE c.phoneNumber = :phoneNumber", Customer.class)
                     .setParameter("phoneNumber", phoneNumber)
                     .getSingleResult();
             if (Objects.nonNull(customer)) {
@@ -59,4 +83,56 @@ public class CustomerServiceImpl extends GenericServiceImpl<Customer> implements
         } catch (NoResultException ignored) {}
         return null;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Customer findByPhoneNumberWithoutReservations(String phoneNumber) {
+        try (Session session = sessionFactory.openSession()) {
+            return findByPhoneNumberWithoutReservations(session, phoneNumber);
+        }
+    }
+
+    /**
+     * Finds customer by phone number in the given session without fetching the customer's reservations.
+     * The lookup is recorded as CustomerLookupEvent.
+     * @param session open session
+     * @param phoneNumber phone number of the customer
+     * @return customer with the given phone number or null if there is no such customer
+     */
+    static Customer findByPhoneNumberWithoutReservations(Session session, String phoneNumber) {
+        CustomerLookupEvent event = new CustomerLookupEvent();
+        event.begin();
+        Customer customer = session.createQuery("FROM Customer c WHERE c.phoneNumber = :phoneNumber", Customer.class)
+                .setParameter("phoneNumber", phoneNumber)
+                .uniqueResult();
+        event.setFound(customer != null);
+        event.commit();
+        return customer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Customer findOrCreate(String phoneNumber, String name) {
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            try {
+                transaction = session.beginTransaction();
+                Customer customer = bookingSupport.findOrCreateCustomer(session, phoneNumber, name);
+                transaction.commit();
+                return customer;
+            } catch (Exception e) {
+                if (transaction != null && transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
 }
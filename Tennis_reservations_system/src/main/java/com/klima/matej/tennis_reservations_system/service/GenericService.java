@@ -7,6 +7,11 @@ import java.util.List;
  * @param <T> type of the object
  */
 public interface GenericService<T>{
+    /**
+     * Maximum number of objects returned in one page.
+     */
+    int MAX_PAGE_SIZE = 1000;
+
     /**
      * Saves object to the database.
      * @param object object to be saved
@@ -16,10 +21,20 @@ public interface GenericService<T>{
 
     /**
      * Finds all objects in the database.
+     * All objects are loaded into memory at once, use findPage for tables that can grow.
      * @return list of all objects
      */
     List<T> findAll();
 
+    /**
+     * Finds page of objects ordered by ID.
+     * Pages are read by keyset, so reading a page costs the same no matter how many pages precede it.
+     * @param afterId ID of the last object of the previous page, 0 for the first page
+     * @param limit maximum number of objects in the page, capped by MAX_PAGE_SIZE
+     * @return list of at most limit objects with ID greater than afterId
+     */
+    List<T> findPage(long afterId, int limit);
+
     /**
      * Finds object by ID.
      * @param id ID of the object
@@ -35,9 +50,9 @@ public interface GenericService<T>{
     T update(T object);
 
     /**
-     * Deletes object from the database.
+     * Deletes object from the database, deleting a missing object does nothing and succeeds.
      * @param id ID of the object to be deleted
-     * @return true if object was deleted, false otherwise
+     * @return true if object was deleted or did not exist, false if the delete failed
      */
     boolean deleteById(long id);
 }
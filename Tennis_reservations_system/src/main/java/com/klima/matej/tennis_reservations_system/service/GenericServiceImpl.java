@@ -1,11 +1,10 @@
 package com.klima.matej.tennis_reservations_system.service;
 
-import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
-
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -24,11 +23,26 @@ public abstract class GenericServiceImpl<T> implements GenericService<T>{
      */
     private final Class<T> classType;
 
-    public GenericServiceImpl(Class<T> classType) {
-        this.sessionFactory = HibernateUtil.getSessionFactory();
+    /**
+     * Constructor.
+     * @param classType type of the object
+     * @param sessionFactory session factory used to create sessions
+     */
+    public GenericServiceImpl(Class<T> classType, SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
         this.classType = classType;
     }
 
+    /**
+     * Returns joins fetching eager associations of the entity in list queries.
+     * Without them every distinct associated entity not found in the second-level cache is loaded by its own query.
+     * @param alias alias of the entity in the query
+     * @return fetch joins appended to the FROM clause, empty by default
+     */
+    protected String fetchJoins(String alias) {
+        return "";
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -53,7 +67,26 @@ public abstract class GenericServiceImpl<T> implements GenericService<T>{
      */
     public List<T> findAll(){
         try (Session session = sessionFactory.openSession()) {
-            return session.createQuery("FROM " + classType.getName(), classType).getResultList();
+            return session.createQuery("SELECT e FROM " + classType.getName() + " e" + fetchJoins("e"), classType).getResultList();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<T> findPage(long afterId, int limit) {
+        if (limit < 1) {
+            return new ArrayList<>();
+        }
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("SELECT e FROM " + classType.getName() + " e" + fetchJoins("e") +
+                            " WHERE e.id > :afterId ORDER BY e.id", classType)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(Math.min(limit, MAX_PAGE_SIZE))
+                    .getResultList();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -0,0 +1,43 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * Service interface for on-demand flight recordings of the running application.
+ * At most one recording runs at a time, the last recording is kept until the next one is started.
+ */
+public interface RecordingService {
+    /**
+     * Longest time a recording may run.
+     */
+    Duration MAX_DURATION = Duration.ofHours(1);
+
+    /**
+     * Largest size of the data kept by a recording in bytes, older data is dropped when it is exceeded.
+     */
+    long MAX_SIZE = 500L * 1024 * 1024;
+
+    /**
+     * Starts a new recording, which stops by itself after the given duration.
+     * The previous recording is discarded.
+     * @param duration time after which the recording stops, at most MAX_DURATION
+     * @param maxSize size of the kept data in bytes, at most MAX_SIZE
+     * @return true if the recording was started, false if another recording is running
+     */
+    boolean start(Duration duration, long maxSize);
+
+    /**
+     * Stops the running recording, its data is kept for download.
+     * @return true if the recording was stopped, false if no recording is running
+     */
+    boolean stop();
+
+    /**
+     * Opens data of the last recording in JFR format. Data of a running recording may miss the most recent events.
+     * @return stream of the recorded data to be closed by the caller or null if there is no recorded data
+     * @throws IOException if the data cannot be read
+     */
+    InputStream openStream() throws IOException;
+}
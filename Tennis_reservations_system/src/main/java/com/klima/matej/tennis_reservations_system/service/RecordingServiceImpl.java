@@ -0,0 +1,84 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Service implementation for on-demand flight recordings.
+ * Recordings use the default JFR settings, which are meant for production, together with the events of the application.
+ * Data is kept on disk, bounded by the size given when the recording is started.
+ */
+@Service
+public class RecordingServiceImpl implements RecordingService {
+    /**
+     * Name of the JFR settings used by recordings.
+     */
+    private static final String SETTINGS = "default";
+
+    /**
+     * Last recording or null if no recording was started, guarded by this.
+     */
+    private Recording recording;
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if the duration or size is not positive or exceeds its maximum
+     */
+    @Override
+    public synchronized boolean start(Duration duration, long maxSize) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(MAX_DURATION) > 0
+                || maxSize <= 0 || maxSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Duration and size of the recording must be positive and within their maximum.");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return false;
+        }
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(SETTINGS));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR settings " + SETTINGS + " could not be read.", e);
+        }
+        started.setName("tennis-reservations");
+        started.setToDisk(true);
+        started.setDuration(duration);
+        started.setMaxSize(maxSize);
+        started.start();
+
+        if (recording != null) {
+            recording.close();
+        }
+        recording = started;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return false;
+        }
+        recording.stop();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized InputStream openStream() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        return recording.getStream(null, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.ReservationSeries;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for reservation series.
+ */
+public interface ReservationSeriesService extends GenericService<ReservationSeries> {
+    /**
+     * Finds series of the given courts which may have an occurrence in the given time range.
+     * @param courtIds IDs of the courts
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @return list of series of the given courts active in the time range
+     */
+    List<ReservationSeries> findActive(Collection<Long> courtIds, Timestamp from, Timestamp to);
+
+    /**
+     * Finds occurrences of all series of the given court overlapping with the given time range, ordered by their beginning.
+     * Occurrences are expanded only for the time range, they are not stored in the database and have no ID.
+     * @param courtId ID of the court
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @return list of reservations representing the occurrences
+     */
+    List<Reservation> findOccurrences(long courtId, Timestamp from, Timestamp to);
+}
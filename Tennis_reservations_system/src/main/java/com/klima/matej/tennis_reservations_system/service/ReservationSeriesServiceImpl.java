@@ -0,0 +1,83 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.ReservationSeries;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service implementation for reservation series.
+ */
+@Service
+public class ReservationSeriesServiceImpl extends GenericServiceImpl<ReservationSeries> implements ReservationSeriesService {
+    /**
+     * Session factory used to create sessions.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Operations on an open session shared with the booking, including the search of active series.
+     */
+    private final BookingSupport bookingSupport;
+
+    /**
+     * Constructor.
+     */
+    public ReservationSeriesServiceImpl() {
+        this(HibernateUtil.getSessionFactory(), new BookingSupport());
+    }
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
+     * @param bookingSupport operations on an open session shared with the booking
+     */
+    @Autowired
+    ReservationSeriesServiceImpl(SessionFactory sessionFactory, BookingSupport bookingSupport) {
+        super(ReservationSeries.class, sessionFactory);
+        this.sessionFactory = sessionFactory;
+        this.bookingSupport = bookingSupport;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Customer, court and surface of the court are fetched with the series.
+     */
+    @Override
+    protected String fetchJoins(String alias) {
+        return bookingSupport.seriesFetchJoins(alias);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ReservationSeries> findActive(Collection<Long> courtIds, Timestamp from, Timestamp to) {
+        try (Session session = sessionFactory.openSession()) {
+            return bookingSupport.findActiveSeries(session, courtIds, from, to);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Reservation> findOccurrences(long courtId, Timestamp from, Timestamp to) {
+        List<Reservation> occurrences = new ArrayList<>();
+        for (ReservationSeries series : findActive(List.of(courtId), from, to)) {
+            occurrences.addAll(series.expand(from, to));
+        }
+        occurrences.sort(Comparator.comparing(Reservation::getStartsAt));
+        return occurrences;
+    }
+}
@@ -1,20 +1,35 @@
 package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service interface for reservation.
  */
 public interface ReservationService extends GenericService<Reservation> {
     /**
-     * Finds all reservations for the given court.
+     * Finds all reservations for the given court ordered by creation time.
      * @param courtId ID of the court
      * @return list of all reservations for the given court
      */
     List<Reservation> findAllByCourtId(long courtId);
 
+    /**
+     * Finds reservations for the given court created in the given time range, ordered by creation time.
+     * Both filtering and ordering are done by the database.
+     * @param courtId ID of the court
+     * @param createdFrom inclusive lower bound of the creation time or null for no lower bound
+     * @param createdTo exclusive upper bound of the creation time or null for no upper bound
+     * @return list of reservations for the given court created in the given time range
+     */
+    List<Reservation> findAllByCourtId(long courtId, Timestamp createdFrom, Timestamp createdTo);
+
     /**
      * Finds all reservations for the given customer.
      * @param phoneNumber phone number of the customer
@@ -23,10 +38,55 @@ public interface ReservationService extends GenericService<Reservation> {
     List<Reservation> findAllByPhoneNumber(String phoneNumber);
 
     /**
-     * Finds all reservations in the future for the given customer.
+     * Finds all reservations in the future for the given customer ordered by their beginning.
      * @param phoneNumber phone number of the customer
      * @return list of all reservations in the future for the given customer
      */
     List<Reservation> findFutureByPhoneNumber(String phoneNumber);
 
+    /**
+     * Finds the nearest reservations in the future for the given customer ordered by their beginning.
+     * Past reservations are filtered out by the database, so the cost does not depend on the customer's history.
+     * @param phoneNumber phone number of the customer
+     * @param limit maximum number of returned reservations
+     * @return list of at most limit reservations in the future for the given customer
+     */
+    List<Reservation> findFutureByPhoneNumber(String phoneNumber, int limit);
+
+    /**
+     * Checks whether a reservation with the given time range would overlap with any existing reservation of the court,
+     * including occurrences of reservation series.
+     * Reservations are checked by a single query in the database, no reservations are loaded.
+     * @param courtId ID of the court
+     * @param startsAt beginning of the time range
+     * @param endsAt end of the time range
+     * @return true if the time range overlaps with any existing reservation of the court, false otherwise
+     */
+    boolean existsOverlapping(long courtId, Timestamp startsAt, Timestamp endsAt);
+
+    /**
+     * Finds busy time of the given courts within the given time range, including occurrences of reservation series.
+     * @param courtIds IDs of the courts
+     * @param from beginning of the time range
+     * @param to end of the time range
+     * @return timelines of reservations overlapping with the time range by court ID, courts without such reservations are missing
+     */
+    Map<Long, CourtTimeline> findTimelines(Collection<Long> courtIds, Timestamp from, Timestamp to);
+
+    /**
+     * Saves all given reservations in a single transaction.
+     * Inserts are sent to the database in JDBC batches, either all reservations are saved or none of them.
+     * @param reservations reservations to be saved
+     * @return saved reservations or null if they could not be saved
+     */
+    List<Reservation> saveAll(List<Reservation> reservations);
+
+    /**
+     * Passes all reservations ordered by ID to the given action one by one.
+     * Reservations are read from a scrollable result set and are not kept after the action returns,
+     * so memory use does not depend on the number of reservations.
+     * @param action action called for every reservation, exceptions thrown by it stop the reading and are rethrown
+     * @return number of reservations passed to the action
+     */
+    long streamAll(Consumer<Reservation> action);
 }
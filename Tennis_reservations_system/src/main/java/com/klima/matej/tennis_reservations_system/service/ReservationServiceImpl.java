@@ -1,32 +1,124 @@
 package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
 import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
 
 import jakarta.persistence.NoResultException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Service implementation for reservation.
+ * Every save, update and delete of reservations also updates daily statistics of their courts in the same transaction.
  */
 @Service
 public class ReservationServiceImpl extends GenericServiceImpl<Reservation> implements ReservationService {
+    /**
+     * Number of rows fetched from the database at once when reservations are streamed.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
     /**
      * Session factory used to create sessions.
      */
     private final SessionFactory sessionFactory;
 
+    /**
+     * Operations on an open session shared with the booking, including the statistics locks.
+     */
+    private final BookingSupport bookingSupport;
+
     /**
      * Constructor.
      */
     public ReservationServiceImpl() {
-        super(Reservation.class);
-        this.sessionFactory = HibernateUtil.getSessionFactory();
+        this(HibernateUtil.getSessionFactory(), new BookingSupport());
+    }
+
+    /**
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
+     * @param bookingSupport operations on an open session shared with the booking
+     */
+    @Autowired
+    ReservationServiceImpl(SessionFactory sessionFactory, BookingSupport bookingSupport) {
+        super(Reservation.class, sessionFactory);
+        this.sessionFactory = sessionFactory;
+        this.bookingSupport = bookingSupport;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Customer, court and surface of the court are fetched with the reservations.
+     */
+    @Override
+    protected String fetchJoins(String alias) {
+        return " LEFT JOIN FETCH " + alias + ".customer LEFT JOIN FETCH " + alias + ".court " + alias + "_court" +
+                " LEFT JOIN FETCH " + alias + "_court.surface";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reservation save(Reservation reservation) {
+        return inTransaction(courtIdsOf(reservation), session -> {
+            session.persist(reservation);
+            bookingSupport.addToStats(session, bookingSupport.toStats(reservation, 1));
+            return reservation;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * Statistics of the previous state of the reservation are reverted before the new state is counted.
+     */
+    @Override
+    public Reservation update(Reservation reservation) {
+        return inTransaction(reservation.getId(), courtIdsOf(reservation), (session, previous) -> {
+            if (previous != null) {
+                bookingSupport.addToStats(session, bookingSupport.toStats(previous, -1));
+            }
+            session.merge(reservation);
+            bookingSupport.addToStats(session, bookingSupport.toStats(reservation, 1));
+            return reservation;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(long id) {
+        Boolean deleted = inTransaction(id, List.of(), (session, reservation) -> {
+            if (reservation != null) {
+                session.remove(reservation);
+                bookingSupport.addToStats(session, bookingSupport.toStats(reservation, -1));
+            }
+            return true;
+        });
+        return deleted != null;
     }
 
     /**
@@ -34,12 +126,35 @@ public class ReservationServiceImpl extends GenericServiceImpl<Reservation> impl
      */
     @Override
     public List<Reservation> findAllByCourtId(long courtId) {
+        return findAllByCourtId(courtId, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reservations are read in the order of the index on court and creation time, so no sorting is needed.
+     */
+    @Override
+    public List<Reservation> findAllByCourtId(long courtId, Timestamp createdFrom, Timestamp createdTo) {
+        StringBuilder query = new StringBuilder("SELECT r FROM Reservation r" + fetchJoins("r") + " WHERE r.court.id = :courtId");
+        if (createdFrom != null) {
+            query.append(" AND r.createdAt >= :createdFrom");
+        }
+        if (createdTo != null) {
+            query.append(" AND r.createdAt < :createdTo");
+        }
+        query.append(" ORDER BY r.createdAt, r.id");
+
         try (Session session = sessionFactory.openSession()) {
-            return session.createQuery("SELECT r FROM Reservation r WHERE r.court.id = :courtId", Reservation.class)
-                    .setParameter("courtId", courtId)
-                    .getResultList();
-        } catch (NoResultException ignored) {}
-        return null;
+            Query<Reservation> reservations = session.createQuery(query.toString(), Reservation.class)
+                    .setParameter("courtId", courtId);
+            if (createdFrom != null) {
+                reservations.setParameter("createdFrom", createdFrom);
+            }
+            if (createdTo != null) {
+                reservations.setParameter("createdTo", createdTo);
+            }
+            return reservations.getResultList();
+        }
     }
 
     /**
@@ -48,7 +163,8 @@ public class ReservationServiceImpl extends GenericServiceImpl<Reservation> impl
     @Override
     public List<Reservation> findAllByPhoneNumber(String phoneNumber) {
         try (Session session = sessionFactory.openSession()) {
-            return session.createQuery("SELECT r FROM Reservation r WHERE r.customer.phoneNumber = :phoneNumber", Reservation.class)
+            return session.createQuery("SELECT r FROM Reservation r" + fetchJoins("r") + " WHERE r.customer.id = " +
+                            "(SELECT c.id FROM Customer c WHERE c.phoneNumber = :phoneNumber)", Reservation.class)
                     .setParameter("phoneNumber", phoneNumber)
                     .getResultList();
         } catch (NoResultException ignored) {}
@@ -60,10 +176,173 @@ public class ReservationServiceImpl extends GenericServiceImpl<Reservation> impl
      */
     @Override
     public List<Reservation> findFutureByPhoneNumber(String phoneNumber) {
-        List<Reservation> reservations = findAllByPhoneNumber(phoneNumber);
-        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
-        return reservations.stream()
-                .filter(reservation -> reservation.getStartsAt().after(currentTime))
-                .toList();
+        return findFutureByPhoneNumber(phoneNumber, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The customer is resolved by a subquery, so the reservations are read by the index on customer and beginning.
+     */
+    @Override
+    public List<Reservation> findFutureByPhoneNumber(String phoneNumber, int limit) {
+        if (limit < 1) {
+            return new ArrayList<>();
+        }
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("SELECT r FROM Reservation r" + fetchJoins("r") + " WHERE r.customer.id = " +
+                            "(SELECT c.id FROM Customer c WHERE c.phoneNumber = :phoneNumber) " +
+                            "AND r.startsAt > :now ORDER BY r.startsAt", Reservation.class)
+                    .setParameter("phoneNumber", phoneNumber)
+                    .setParameter("now", new Timestamp(System.currentTimeMillis()))
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Series are expanded only for the checked time range.
+     */
+    @Override
+    public boolean existsOverlapping(long courtId, Timestamp startsAt, Timestamp endsAt) {
+        try (Session session = sessionFactory.openSession()) {
+            return bookingSupport.existsOverlapping(session, courtId, startsAt, endsAt);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Occurrences of series are expanded only for the given time range and merged with the reservations.
+     */
+    @Override
+    public Map<Long, CourtTimeline> findTimelines(Collection<Long> courtIds, Timestamp from, Timestamp to) {
+        if (courtIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        try (Session session = sessionFactory.openSession()) {
+            return bookingSupport.findTimelines(session, courtIds, from, to);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The persistence context is flushed and cleared after every full batch, so it does not grow with the number of reservations.
+     */
+    @Override
+    public List<Reservation> saveAll(List<Reservation> reservations) {
+        Set<Long> courtIds = new HashSet<>();
+        for (Reservation reservation : reservations) {
+            courtIds.addAll(courtIdsOf(reservation));
+        }
+        return inTransaction(courtIds, session -> {
+            bookingSupport.persistAll(session, reservations);
+            return reservations;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * Stateless session has no persistence context, so streamed reservations can be garbage collected right away.
+     * Customer, court and surface are fetched in the same query, otherwise each of them would be loaded by its own query.
+     */
+    @Override
+    public long streamAll(Consumer<Reservation> action) {
+        long count = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<Reservation> reservations = session.createQuery("SELECT r FROM Reservation r" + fetchJoins("r") +
+                             " ORDER BY r.id", Reservation.class)
+                     .setFetchSize(STREAM_FETCH_SIZE)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (reservations.next()) {
+                action.accept(reservations.get());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs the given work in a new transaction while holding statistics locks of the given courts.
+     * @param courtIds IDs of the courts whose statistics are changed by the work
+     * @param work work to be done
+     * @return result of the work or null if the work failed and the transaction was rolled back
+     */
+    private <R> R inTransaction(Collection<Long> courtIds, Function<Session, R> work) {
+        List<Lock> locks = bookingSupport.lockStats(courtIds);
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            try {
+                transaction = session.beginTransaction();
+                R result = work.apply(session);
+                transaction.commit();
+                return result;
+            } catch (Exception e) {
+                if (transaction != null && transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            bookingSupport.unlockStats(locks);
+        }
+        return null;
+    }
+
+    /**
+     * Runs the given work on the stored reservation with the given ID in a new transaction while holding statistics locks
+     * of the given courts and of the court of the stored reservation. The reservation is read within the transaction after
+     * the locks are acquired, so its court cannot be changed by another update until the work is done. When the court read
+     * without the locks differs from the court read with them, the transaction ends without changes and is repeated
+     * with the lock of that court too.
+     * @param id ID of the stored reservation
+     * @param courtIds IDs of other courts whose statistics are changed by the work
+     * @param work work to be done with the stored reservation or null if it does not exist
+     * @return result of the work or null if the work failed and the transaction was rolled back
+     */
+    private <R> R inTransaction(long id, Collection<Long> courtIds, BiFunction<Session, Reservation, R> work) {
+        Set<Long> lockedCourtIds = new HashSet<>(courtIds);
+        Long previousCourtId = findCourtId(id);
+        if (previousCourtId != null) {
+            lockedCourtIds.add(previousCourtId);
+        }
+        while (true) {
+            Set<Long> unlockedCourtIds = new HashSet<>();
+            R result = inTransaction(lockedCourtIds, session -> {
+                Reservation previous = session.get(Reservation.class, id);
+                if (previous != null && !lockedCourtIds.containsAll(courtIdsOf(previous))) {
+                    unlockedCourtIds.addAll(courtIdsOf(previous));
+                    return null;
+                }
+                return work.apply(session, previous);
+            });
+            if (unlockedCourtIds.isEmpty()) {
+                return result;
+            }
+            lockedCourtIds.addAll(unlockedCourtIds);
+        }
+    }
+
+    /**
+     * Returns ID of the court of the given reservation as a collection for locking.
+     * @param reservation reservation
+     * @return ID of the court or nothing if the reservation has no court, in which case it cannot be saved anyway
+     */
+    private static List<Long> courtIdsOf(Reservation reservation) {
+        return reservation.getCourt() == null ? List.of() : List.of(reservation.getCourt().getId());
+    }
+
+    /**
+     * Finds ID of the court of the given reservation.
+     * @param id ID of the reservation
+     * @return ID of the court or null if the reservation does not exist
+     */
+    private Long findCourtId(long id) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("SELECT c.id FROM Reservation r JOIN r.court c WHERE r.id = :id", Long.class)
+                    .setParameter("id", id)
+                    .uniqueResult();
+        }
     }
 }
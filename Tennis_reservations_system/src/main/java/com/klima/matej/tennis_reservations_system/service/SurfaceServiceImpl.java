@@ -6,12 +6,14 @@ import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
 import jakarta.persistence.NoResultException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
 
 /**
  * Service implementation for surface.
+ * Surfaces are found by ID through the second-level cache, their courts are not loaded.
  */
 @Service
 public class SurfaceServiceImpl extends GenericServiceImpl<Surface> implements SurfaceService{
@@ -24,24 +26,17 @@ public class SurfaceServiceImpl extends GenericServiceImpl<Surface> implements S
      * Constructor.
      */
     public SurfaceServiceImpl() {
-        super(Surface.class);
-        this.sessionFactory = HibernateUtil.getSessionFactory();
+        this(HibernateUtil.getSessionFactory());
     }
 
     /**
-     * {@inheritDoc}
+     * Constructor.
+     * @param sessionFactory session factory used to create sessions
      */
-    @Override
-    public Surface findById(long id) {
-        try (Session session = sessionFactory.openSession()) {
-            Surface surface =  session.createQuery("SELECT s FROM Surface s LEFT JOIN FETCH s.courts WHERE s.id = :id", Surface.class)
-                    .setParameter("id", id)
-                    .getSingleResult();
-            if (Objects.nonNull(surface)) {
-                return surface;
-            }
-        } catch (NoResultException ignored) {}
-        return null;
+    @Autowired
+    public SurfaceServiceImpl(SessionFactory sessionFactory) {
+        super(Surface.class, sessionFactory);
+        this.sessionFactory = sessionFactory;
     }
 
     /**
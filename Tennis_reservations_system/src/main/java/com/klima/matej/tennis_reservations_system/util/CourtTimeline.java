@@ -0,0 +1,130 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compact timeline of the busy time of one court.
+ * Busy intervals are kept as two arrays of epoch milliseconds, intervals overlapping or touching each other are merged,
+ * so the timeline is always a sorted sequence of disjoint intervals.
+ */
+public class CourtTimeline {
+    /**
+     * Beginnings of the busy intervals in epoch milliseconds.
+     */
+    private long[] starts = new long[8];
+
+    /**
+     * Ends of the busy intervals in epoch milliseconds.
+     */
+    private long[] ends = new long[8];
+
+    /**
+     * Number of busy intervals.
+     */
+    private int size;
+
+    /**
+     * Creates timeline from busy intervals given in any order.
+     * @param intervals busy intervals as pairs of beginning and end in epoch milliseconds
+     * @return timeline of the intervals
+     */
+    public static CourtTimeline of(List<long[]> intervals) {
+        List<long[]> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingLong(interval -> interval[0]));
+        CourtTimeline timeline = new CourtTimeline();
+        for (long[] interval : sorted) {
+            timeline.add(interval[0], interval[1]);
+        }
+        return timeline;
+    }
+
+    /**
+     * Adds busy interval to the timeline.
+     * Intervals must be added in the order of their beginnings.
+     * @param start beginning of the interval in epoch milliseconds
+     * @param end end of the interval in epoch milliseconds
+     * @throws IllegalArgumentException if the interval begins before the previously added one
+     */
+    public void add(long start, long end) {
+        if (size > 0) {
+            if (start < starts[size - 1]) {
+                throw new IllegalArgumentException("Intervals must be added in the order of their beginnings.");
+            }
+            if (start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+                return;
+            }
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    /**
+     * Returns number of disjoint busy intervals.
+     * @return number of busy intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the given interval does not overlap with any busy interval.
+     * Intervals only touching each other do not overlap.
+     * @param start beginning of the interval in epoch milliseconds
+     * @param end end of the interval in epoch milliseconds
+     * @return true if the interval is free, false otherwise
+     */
+    public boolean isFree(long start, long end) {
+        int i = firstEndingAfter(start);
+        return i == size || starts[i] >= end;
+    }
+
+    /**
+     * Finds free intervals within the given range.
+     * @param from beginning of the range in epoch milliseconds
+     * @param to end of the range in epoch milliseconds
+     * @param minLength minimal length of a returned interval in milliseconds
+     * @return free intervals as pairs of beginning and end in epoch milliseconds, ordered by beginning
+     */
+    public List<long[]> freeIntervals(long from, long to, long minLength) {
+        List<long[]> free = new ArrayList<>();
+        long cursor = from;
+        for (int i = firstEndingAfter(from); i < size && starts[i] < to && cursor < to; i++) {
+            if (starts[i] - cursor >= Math.max(minLength, 1)) {
+                free.add(new long[]{cursor, starts[i]});
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        if (cursor < to && to - cursor >= minLength) {
+            free.add(new long[]{cursor, to});
+        }
+        return free;
+    }
+
+    /**
+     * Finds index of the first busy interval ending after the given time.
+     * @param time time in epoch milliseconds
+     * @return index of the first interval ending after the time or size if there is none
+     */
+    private int firstEndingAfter(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ends[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
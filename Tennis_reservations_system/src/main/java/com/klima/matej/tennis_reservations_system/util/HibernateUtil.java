@@ -1,39 +1,191 @@
 package com.klima.matej.tennis_reservations_system.util;
 
-        import org.hibernate.SessionFactory;
-        import org.hibernate.boot.Metadata;
-        import org.hibernate.boot.MetadataSources;
-        import org.hibernate.boot.registry.StandardServiceRegistry;
-        import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.Map;
 
 /**
  * Hibernate Utility class with a convenient method to get Session Factory object.
+ * Session Factory is built once, concurrent callers wait for the first build and then share its result.
+ * When the Session Factory is closed, the reference is cleared, so a closed Session Factory is never returned.
+ * Session Factory is either managed, built with a data source of the application context, or standalone, built with its own pool.
+ * Once a managed Session Factory was built, no standalone one is built, callers fail until the managed one is built again.
  */
-public class HibernateUtil {
-    private static StandardServiceRegistry registry;
-    private static SessionFactory sessionFactory;
+public final class HibernateUtil {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HibernateUtil.class);
+
+    /**
+     * Session Factory shared by the whole application or null if none is open, written only while holding the class lock.
+     */
+    private static volatile SessionFactory sessionFactory;
+
+    /**
+     * Whether a managed Session Factory was built, written only while holding the class lock.
+     */
+    private static volatile boolean managed;
+
+    /**
+     * Whether the current Session Factory is managed, written only while holding the class lock.
+     */
+    private static boolean sessionFactoryManaged;
+
+    private HibernateUtil() {}
 
     /**
      * Returns Session Factory object.
+     * When no Session Factory exists yet, a standalone one is created with its own HikariCP pool configured from hibernate.cfg.xml.
      * @return Session Factory object.
+     * @throws IllegalStateException if Session Factory cannot be built or if the managed Session Factory is not initialized
      */
     public static SessionFactory getSessionFactory() {
+        SessionFactory factory = sessionFactory;
+        if (factory == null) {
+            synchronized (HibernateUtil.class) {
+                factory = sessionFactory;
+                if (factory == null) {
+                    if (managed) {
+                        throw new IllegalStateException("Managed session factory is not initialized.");
+                    }
+                    factory = buildSessionFactory(null, Map.of());
+                    sessionFactory = factory;
+                    sessionFactoryManaged = false;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Returns managed Session Factory object.
+     * When no Session Factory exists yet, it is created with connections obtained from the given data source
+     * and with the given settings overriding hibernate.cfg.xml, otherwise the existing managed Session Factory is returned
+     * and both arguments are ignored. The caller owns the Session Factory and closes it.
+     * @param dataSource data source providing connections
+     * @param settings Hibernate settings overriding hibernate.cfg.xml
+     * @return Session Factory object.
+     * @throws IllegalStateException if Session Factory cannot be built or if a standalone Session Factory already exists
+     */
+    public static synchronized SessionFactory getSessionFactory(DataSource dataSource, Map<String, Object> settings) {
+        if (sessionFactory != null && !sessionFactoryManaged) {
+            throw new IllegalStateException("Standalone session factory with its own pool already exists.");
+        }
         if (sessionFactory == null) {
-            try {
-                registry = new StandardServiceRegistryBuilder().configure().build();
+            managed = true;
+            sessionFactory = buildSessionFactory(dataSource, settings);
+            sessionFactoryManaged = true;
+        }
+        return sessionFactory;
+    }
 
-                MetadataSources sources = new MetadataSources(registry);
+    /**
+     * Builds Session Factory and logs how long the individual bootstrap phases took.
+     * When the Session Factory is closed, the reference to it is cleared and its own pool, if created, is closed.
+     * @param dataSource data source providing connections or null to create own HikariCP pool
+     * @param overrides Hibernate settings overriding hibernate.cfg.xml
+     * @return Session Factory object.
+     * @throws IllegalStateException if Session Factory cannot be built
+     */
+    private static SessionFactory buildSessionFactory(DataSource dataSource, Map<String, Object> overrides) {
+        long started = System.nanoTime();
+        StandardServiceRegistry registry = null;
+        try {
+            StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder().configure()
+                    .applySettings(overrides);
+            Map<String, Object> settings = registryBuilder.getSettings();
+            HikariDataSource ownPool = null;
+            if (dataSource == null) {
+                ownPool = createDataSource(settings);
+                dataSource = ownPool;
+            }
+            // Credentials belong to the pool, Hibernate would otherwise request connections for them explicitly
+            settings.remove(AvailableSettings.USER);
+            settings.remove(AvailableSettings.PASS);
+            registryBuilder.applySetting(AvailableSettings.DATASOURCE, dataSource);
+            registry = registryBuilder.build();
+            long registryBuilt = System.nanoTime();
+
+            MetadataSources sources = new MetadataSources(registry);
+
+            Metadata metadata = sources.getMetadataBuilder().build();
+            long metadataBuilt = System.nanoTime();
 
-                Metadata metadata = sources.getMetadataBuilder().build();
+            SessionFactory factory = metadata.getSessionFactoryBuilder()
+                    .addSessionFactoryObservers(new ClosingObserver(ownPool))
+                    .build();
+            long factoryBuilt = System.nanoTime();
 
-                sessionFactory = metadata.getSessionFactoryBuilder().build();
+            LOGGER.info("Session factory built in {} ms (service registry {} ms, metadata {} ms, session factory {} ms)",
+                    millis(started, factoryBuilt), millis(started, registryBuilt),
+                    millis(registryBuilt, metadataBuilt), millis(metadataBuilt, factoryBuilt));
+            return factory;
+        } catch (Exception e) {
+            if (registry != null) {
+                StandardServiceRegistryBuilder.destroy(registry);
+            }
+            throw new IllegalStateException("Session factory could not be built.", e);
+        }
+    }
 
-            } catch (Exception e) {
-                if (registry != null) {
-                    StandardServiceRegistryBuilder.destroy(registry);
+    /**
+     * Creates HikariCP pool from the JDBC connection settings.
+     * @param settings Hibernate settings containing JDBC connection settings
+     * @return pooled data source
+     */
+    private static HikariDataSource createDataSource(Map<String, Object> settings) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("tennis-hibernate-pool");
+        config.setDriverClassName((String) settings.get(AvailableSettings.DRIVER));
+        config.setJdbcUrl((String) settings.get(AvailableSettings.URL));
+        config.setUsername((String) settings.get(AvailableSettings.USER));
+        config.setPassword((String) settings.get(AvailableSettings.PASS));
+        Object poolSize = settings.get(AvailableSettings.POOL_SIZE);
+        if (poolSize != null) {
+            config.setMaximumPoolSize(Integer.parseInt(poolSize.toString()));
+        }
+        return new HikariDataSource(config);
+    }
+
+    private static long millis(long from, long to) {
+        return (to - from) / 1_000_000;
+    }
+
+    /**
+     * Observer clearing the reference to the Session Factory when it is closed.
+     */
+    private static final class ClosingObserver implements SessionFactoryObserver {
+        /**
+         * Pool created for the Session Factory or null if the connections are obtained from a given data source.
+         */
+        private final HikariDataSource ownPool;
+
+        private ClosingObserver(HikariDataSource ownPool) {
+            this.ownPool = ownPool;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void sessionFactoryClosed(SessionFactory factory) {
+            synchronized (HibernateUtil.class) {
+                if (sessionFactory == factory) {
+                    sessionFactory = null;
                 }
             }
+            if (ownPool != null) {
+                ownPool.close();
+            }
         }
-        return sessionFactory;
     }
-}
\ No newline at end of file
+}
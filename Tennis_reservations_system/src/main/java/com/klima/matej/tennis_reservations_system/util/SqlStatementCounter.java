@@ -0,0 +1,112 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Statement inspector counting SQL statements run by the current thread, registered in hibernate.cfg.xml.
+ * Counting is started and stopped explicitly, e.g. for every HTTP request, statements of other threads are not counted.
+ * Time spent executing the statements is added by SqlStatementTimer.
+ * The last statement of every thread is remembered, so that SqlStatementTimer can log it when it is slow.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    /**
+     * Count of the current thread or null if the current thread is not counted.
+     */
+    private static final ThreadLocal<Count> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Last statement prepared by the current thread.
+     */
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting statements of the current thread, a count started before is replaced.
+     * @return count updated by the following statements of the current thread
+     */
+    public static Count start() {
+        Count count = new Count();
+        CURRENT.set(count);
+        return count;
+    }
+
+    /**
+     * Stops counting statements of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns count of the current thread.
+     * @return count of the current thread or null if the current thread is not counted
+     */
+    static Count current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns last statement prepared by the current thread.
+     * Statements are executed right after they are prepared, except for JDBC batches, which are executed
+     * when the next batch is started or the session is flushed, the returned statement is the statement of the batch.
+     * @return SQL of the statement or null if the current thread has not prepared any statement
+     */
+    static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The statement is counted and returned unchanged.
+     */
+    @Override
+    public String inspect(String sql) {
+        LAST_STATEMENT.set(sql);
+        Count count = CURRENT.get();
+        if (count != null) {
+            count.statements++;
+        }
+        return sql;
+    }
+
+    /**
+     * Number of statements and time spent executing them, used only by the thread it was started on.
+     */
+    public static final class Count {
+        /**
+         * Number of statements prepared by Hibernate.
+         */
+        private int statements;
+
+        /**
+         * Time spent executing the statements in nanoseconds.
+         */
+        private long jdbcNanos;
+
+        private Count() {}
+
+        /**
+         * Returns number of statements prepared by Hibernate.
+         * Statements sent in one JDBC batch are prepared, and counted, once.
+         * @return number of statements
+         */
+        public int getStatements() {
+            return statements;
+        }
+
+        /**
+         * Returns time spent executing the statements.
+         * @return time in nanoseconds
+         */
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        /**
+         * Adds time spent executing a statement.
+         * @param nanos time in nanoseconds
+         */
+        void addJdbcNanos(long nanos) {
+            jdbcNanos += nanos;
+        }
+    }
+}
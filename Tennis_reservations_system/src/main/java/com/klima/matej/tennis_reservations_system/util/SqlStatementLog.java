@@ -0,0 +1,232 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Log of slow SQL statements and latency histograms of all statements, fed by SqlStatementTimer.
+ * Statements are normalized first, literals and lists of parameters are replaced, so that the same query
+ * with different values is logged and measured as one statement. Every normalized statement has a short stable ID
+ * made of its operation, its first table and a hash of its text, e.g. select:Reservation:1a2b3c4d.
+ * Statements slower than the threshold are logged with the sample rate probability as key-value pairs
+ * (durationMs, statementId, statement) to this class's logger, which is written by an asynchronous appender
+ * in logback-spring.xml, so the request thread never waits for the output.
+ * Latency of every statement is recorded by timer sql.statements tagged by the statement ID once a meter registry is set,
+ * the full text of the statement is logged with its ID when its timer is registered.
+ */
+public final class SqlStatementLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatementLog.class);
+
+    /**
+     * Maximum number of distinct statements with their own timer, the remaining statements share timer tagged other.
+     */
+    static final int MAX_TIMERS = 200;
+
+    /**
+     * Tag of the timer shared by statements over the limit of distinct statements.
+     */
+    static final String OTHER_STATEMENT = "other";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("(?i)\\bin \\(\\?(?:, ?\\?)*\\)");
+
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:from|into|update|join)\\s+([A-Za-z_][\\w.]*)");
+
+    /**
+     * Words following FROM in queries of H2 data change delta tables, e.g. SELECT id FROM FINAL TABLE (MERGE INTO ...).
+     */
+    private static final Set<String> DELTA_TABLES = Set.of("final", "new", "old");
+
+    /**
+     * Upper bounds of the histogram buckets of the timers, a fixed set keeps the number of series small for every statement.
+     */
+    private static final Duration[] SERVICE_LEVEL_OBJECTIVES = {Duration.ofMillis(1), Duration.ofMillis(5),
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1)};
+
+    /**
+     * Normalized statements by their SQL, Hibernate generates a limited number of distinct statements.
+     */
+    private static final Cache<String, Statement> NORMALIZED = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .build();
+
+    /**
+     * Timers by statement ID.
+     */
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    /**
+     * Number of timers of distinct statements, the shared timer is not counted.
+     * Incremented only within the mapping function of TIMERS, so no more than MAX_TIMERS timers are ever registered.
+     */
+    private static final AtomicInteger TIMER_COUNT = new AtomicInteger();
+
+    /**
+     * Statements executed at least this long are logged.
+     */
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Probability with which a slow statement is logged.
+     */
+    private static volatile double sampleRate = 1;
+
+    /**
+     * Registry the timers are registered in or null if latency is not measured.
+     */
+    private static volatile MeterRegistry registry;
+
+    private SqlStatementLog() {}
+
+    /**
+     * Configures which statements are logged.
+     * Threshold of zero together with a small sample rate logs a sample of all statements.
+     * @param threshold statements executed at least this long are logged
+     * @param sampleRate probability from 0 to 1 with which a slow statement is logged
+     * @throws IllegalArgumentException if the threshold is negative or the sample rate is not between 0 and 1
+     */
+    public static void configure(Duration threshold, double sampleRate) {
+        if (threshold.isNegative() || !(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("Threshold must not be negative and sample rate must be between 0 and 1.");
+        }
+        SqlStatementLog.thresholdNanos = threshold.toNanos();
+        SqlStatementLog.sampleRate = sampleRate;
+    }
+
+    /**
+     * Sets registry the latency of statements is measured in, timers of the previous registry are forgotten.
+     * @param registry meter registry or null to stop measuring
+     */
+    public static void setMeterRegistry(MeterRegistry registry) {
+        SqlStatementLog.registry = registry;
+        TIMERS.clear();
+        TIMER_COUNT.set(0);
+    }
+
+    /**
+     * Records an executed statement.
+     * @param sql SQL of the statement or null if it is not known
+     * @param nanos time spent executing the statement in nanoseconds
+     */
+    static void record(String sql, long nanos) {
+        MeterRegistry meterRegistry = registry;
+        boolean slow = nanos >= thresholdNanos && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (sql == null || (meterRegistry == null && !slow)) {
+            return;
+        }
+        Statement statement = NORMALIZED.get(sql, key -> {
+            String text = normalize(key);
+            return new Statement(statementId(text), text);
+        });
+        if (meterRegistry != null) {
+            timer(meterRegistry, statement).record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (slow) {
+            LOGGER.atWarn()
+                    .addKeyValue("durationMs", String.format(Locale.ROOT, "%.3f", nanos / 1e6))
+                    .addKeyValue("statementId", statement.id())
+                    .addKeyValue("statement", statement.text())
+                    .log("Slow SQL statement");
+        }
+    }
+
+    /**
+     * Normalizes SQL of a statement, whitespace is collapsed, literals are replaced by ? and lists of parameters by (?).
+     * @param sql SQL of the statement
+     * @return normalized statement
+     */
+    static String normalize(String sql) {
+        String statement = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        statement = STRING_LITERAL.matcher(statement).replaceAll("?");
+        statement = NUMBER_LITERAL.matcher(statement).replaceAll("?");
+        return PARAMETER_LIST.matcher(statement).replaceAll("in (?)");
+    }
+
+    /**
+     * Returns short stable ID of a normalized statement made of its operation, its first table and a hash of its text.
+     * The hash keeps different statements of the same table apart and is the same in every run of the application.
+     * @param statement normalized statement
+     * @return ID of the statement, e.g. select:Reservation:1a2b3c4d
+     */
+    static String statementId(String statement) {
+        int operationEnd = statement.indexOf(' ');
+        String operation = (operationEnd < 0 ? statement : statement.substring(0, operationEnd)).toLowerCase(Locale.ROOT);
+        String table = "-";
+        Matcher matcher = TABLE.matcher(statement);
+        while (matcher.find()) {
+            if (!DELTA_TABLES.contains(matcher.group(1).toLowerCase(Locale.ROOT))) {
+                table = matcher.group(1);
+                break;
+            }
+        }
+        return operation + ":" + table + ":" + String.format(Locale.ROOT, "%08x", statement.hashCode());
+    }
+
+    /**
+     * Returns timer of the statement, it is created and its ID is logged with its text on first use.
+     * The limit of distinct statements is checked within the mapping function, so concurrent first executions
+     * of different statements cannot register more timers than the limit.
+     * @param meterRegistry registry the timer is registered in
+     * @param statement normalized statement
+     * @return timer of the statement or the shared timer if there are too many distinct statements
+     */
+    private static Timer timer(MeterRegistry meterRegistry, Statement statement) {
+        Timer timer = TIMERS.get(statement.id());
+        if (timer != null) {
+            return timer;
+        }
+        timer = TIMERS.computeIfAbsent(statement.id(), id -> {
+            if (TIMER_COUNT.incrementAndGet() > MAX_TIMERS) {
+                TIMER_COUNT.decrementAndGet();
+                return null;
+            }
+            LOGGER.atInfo()
+                    .addKeyValue("statementId", id)
+                    .addKeyValue("statement", statement.text())
+                    .log("SQL statement timer registered");
+            return register(meterRegistry, id);
+        });
+        return timer != null ? timer : TIMERS.computeIfAbsent(OTHER_STATEMENT, id -> register(meterRegistry, id));
+    }
+
+    /**
+     * Registers timer of a statement with histogram buckets at the service level objectives.
+     * @param meterRegistry registry the timer is registered in
+     * @param statementId ID of the statement or OTHER_STATEMENT
+     * @return registered timer
+     */
+    private static Timer register(MeterRegistry meterRegistry, String statementId) {
+        return Timer.builder("sql.statements")
+                .description("Time spent executing a SQL statement")
+                .tag("statement", statementId)
+                .serviceLevelObjectives(SERVICE_LEVEL_OBJECTIVES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Normalized statement with its ID.
+     * @param id short stable ID of the statement
+     * @param text normalized SQL of the statement
+     */
+    private record Statement(String id, String text) {}
+}
@@ -0,0 +1,105 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import com.klima.matej.tennis_reservations_system.jfr.SessionEvent;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Session event listener adding time spent executing JDBC statements and batches to the count of the current thread.
+ * Every execution is also passed to SqlStatementLog, which logs slow statements and measures latency per statement.
+ * It is registered in hibernate.cfg.xml and Hibernate creates a new instance for every session when the session is opened,
+ * so the whole session is recorded as SessionEvent with its number of statements and JDBC time.
+ */
+public class SqlStatementTimer extends BaseSessionEventListener {
+    /**
+     * Time at which the running statement or batch started, as returned by System.nanoTime().
+     */
+    private long started;
+
+    /**
+     * Flight recorder event of the session, committed when the session is closed.
+     */
+    private final transient SessionEvent event = new SessionEvent();
+
+    /**
+     * Number of statements prepared by the session.
+     */
+    private int statements;
+
+    /**
+     * Time spent executing the statements of the session in nanoseconds.
+     */
+    private long jdbcNanos;
+
+    /**
+     * Constructor, called when the session is opened.
+     */
+    public SqlStatementTimer() {
+        event.begin();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcPrepareStatementStart() {
+        statements++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addElapsed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addElapsed();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Called when the session is closed.
+     */
+    @Override
+    public void end() {
+        event.setStatements(statements);
+        event.setJdbcTime(jdbcNanos);
+        event.commit();
+    }
+
+    /**
+     * Adds time elapsed since the start of the statement or batch to the session, to the count of the current thread,
+     * if it is counted, and to the statement log.
+     */
+    private void addElapsed() {
+        long elapsed = System.nanoTime() - started;
+        jdbcNanos += elapsed;
+        SqlStatementCounter.Count count = SqlStatementCounter.current();
+        if (count != null) {
+            count.addJdbcNanos(elapsed);
+        }
+        SqlStatementLog.record(SqlStatementCounter.lastStatement(), elapsed);
+    }
+}
@@ -0,0 +1,79 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by numeric keys.
+ * Operations on the same key always use the same lock and are serialized,
+ * operations on different keys use different locks unless their keys fall into the same stripe.
+ */
+public class StripedLock {
+    /**
+     * Locks of the stripes, the number of stripes is always a power of two.
+     */
+    private final Lock[] stripes;
+
+    /**
+     * Constructor.
+     * @param stripes minimal number of stripes, rounded up to the nearest power of two
+     */
+    public StripedLock(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be positive.");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns lock guarding the given key.
+     * Consecutive keys are mapped to different stripes, so e.g. courts with IDs 1 to number of stripes never share a lock.
+     * @param key key to be locked
+     * @return lock guarding the key
+     */
+    public Lock get(long key) {
+        return stripes[indexOf(key)];
+    }
+
+    /**
+     * Returns distinct locks guarding the given keys in the order of their stripes.
+     * Acquiring them in the returned order cannot deadlock with other callers doing the same,
+     * no matter in which order the keys were given.
+     * @param keys keys to be locked
+     * @return locks guarding the keys, each lock at most once
+     */
+    public List<Lock> getAll(Collection<Long> keys) {
+        boolean[] used = new boolean[stripes.length];
+        for (long key : keys) {
+            used[indexOf(key)] = true;
+        }
+        List<Lock> locks = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            if (used[i]) {
+                locks.add(stripes[i]);
+            }
+        }
+        return locks;
+    }
+
+    /**
+     * Returns index of the stripe of the given key.
+     * @param key key to be locked
+     * @return index of the stripe
+     */
+    private int indexOf(long key) {
+        int hash = Long.hashCode(key);
+        hash ^= hash >>> 16;
+        return hash & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,171 @@
+package com.klima.matej.tennis_reservations_system;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
+import com.klima.matej.tennis_reservations_system.service.*;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingConcurrencyTest {
+    private static final int CLIENTS = 64;
+    private static final int COURTS = 4;
+
+    private static final CustomerService customerService = new CustomerServiceImpl();
+    private static final SurfaceService surfaceService = new SurfaceServiceImpl();
+    private static final CourtService courtService = new CourtServiceImpl();
+    private static final ReservationService reservationService = new ReservationServiceImpl();
+    private static final BookingService bookingService = new BookingServiceImpl();
+
+    private static TennisReservationsSystemApplication APP;
+    private static Surface SURFACE;
+    private static List<Court> COURTS_LIST;
+
+    @BeforeAll
+    public static void setUpApplication() {
+        APP = new TennisReservationsSystemApplication();
+        ReflectionTestUtils.setField(APP, "customerService", customerService);
+        ReflectionTestUtils.setField(APP, "surfaceService", surfaceService);
+        ReflectionTestUtils.setField(APP, "courtService", courtService);
+        ReflectionTestUtils.setField(APP, "reservationService", reservationService);
+        ReflectionTestUtils.setField(APP, "bookingService", bookingService);
+
+        Surface surface = new Surface();
+        surface.setName("Concurrency Test Surface");
+        surface.setMinutePrice(1);
+        surfaceService.save(surface);
+        SURFACE = surface;
+
+        COURTS_LIST = new ArrayList<>();
+        for (int i = 0; i < COURTS; i++) {
+            Court court = new Court();
+            court.setName("Concurrency Test Court " + i);
+            court.setSurface(surface);
+            courtService.save(court);
+            COURTS_LIST.add(court);
+        }
+    }
+
+    @AfterAll
+    public static void tearDownApplication() {
+        // Reservations of a deleted customer cannot be loaded, so customers are deleted last
+        Set<Long> customerIds = new HashSet<>();
+        for (Court court : COURTS_LIST) {
+            for (Reservation reservation : reservationService.findAllByCourtId(court.getId())) {
+                reservationService.deleteById(reservation.getId());
+                customerIds.add(reservation.getCustomer().getId());
+            }
+            courtService.deleteById(court.getId());
+        }
+        customerIds.forEach(customerService::deleteById);
+        surfaceService.deleteById(SURFACE.getId());
+    }
+
+    private int bookConcurrently(List<ReservationCreateParams> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (ReservationCreateParams params : requests) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return APP.createReservation(params);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<ResponseEntity<Object>> response : responses) {
+                if (response.get().getStatusCode() == HttpStatus.CREATED) {
+                    created++;
+                }
+            }
+            return created;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ReservationCreateParams params(String client, Court court, Timestamp startsAt, Timestamp endsAt) {
+        return ReservationCreateParams.builder()
+                .courtId(court.getId())
+                .customerPhoneNumber("Concurrency Test Phone Number " + client)
+                .customerName("Concurrency Test Customer " + client)
+                .isDoubles(false)
+                .startsAt(startsAt)
+                .endsAt(endsAt)
+                .build();
+    }
+
+    @Test
+    public void testSameSlotBookedOnce() throws Exception {
+        Court court = COURTS_LIST.get(0);
+        Timestamp startsAt = Timestamp.valueOf("2030-01-01 10:00:00");
+        Timestamp endsAt = Timestamp.valueOf("2030-01-01 11:00:00");
+
+        List<ReservationCreateParams> requests = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            requests.add(params("same-" + i, court, startsAt, endsAt));
+        }
+
+        assertEquals(1, bookConcurrently(requests));
+        assertEquals(1, reservationService.findAllByCourtId(court.getId()).stream()
+                .filter(reservation -> reservation.getStartsAt().equals(startsAt))
+                .count());
+    }
+
+    @Test
+    public void testOverlappingSlotsOnDifferentCourts() throws Exception {
+        Timestamp startsAt = Timestamp.valueOf("2030-01-02 10:00:00");
+
+        List<ReservationCreateParams> requests = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Court court = COURTS_LIST.get(i % COURTS);
+            Timestamp shiftedStart = new Timestamp(startsAt.getTime() + (i / COURTS) * 60000L);
+            Timestamp shiftedEnd = new Timestamp(shiftedStart.getTime() + 3600000L);
+            requests.add(params("different-" + i, court, shiftedStart, shiftedEnd));
+        }
+
+        assertEquals(COURTS, bookConcurrently(requests));
+        for (Court court : COURTS_LIST) {
+            List<Reservation> booked = reservationService.findAllByCourtId(court.getId()).stream()
+                    .filter(reservation -> !reservation.getStartsAt().before(startsAt))
+                    .toList();
+            assertEquals(1, booked.size());
+        }
+    }
+
+    @Test
+    public void testNewCustomerBookingDifferentCourtsAtOnce() throws Exception {
+        Timestamp startsAt = Timestamp.valueOf("2030-01-01 14:00:00");
+        Timestamp endsAt = Timestamp.valueOf("2030-01-01 15:00:00");
+
+        List<ReservationCreateParams> requests = new ArrayList<>();
+        for (Court court : COURTS_LIST) {
+            requests.add(params("new", court, startsAt, endsAt));
+        }
+
+        assertEquals(COURTS, bookConcurrently(requests));
+        Customer customer = customerService.findByPhoneNumber("Concurrency Test Phone Number new");
+        assertEquals(COURTS, customer.getReservations().size());
+    }
+}
@@ -1,12 +1,19 @@
 package com.klima.matej.tennis_reservations_system;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klima.matej.tennis_reservations_system.config.SqlStatementFilter;
 import com.klima.matej.tennis_reservations_system.entity.*;
 import com.klima.matej.tennis_reservations_system.params.CourtCreateParams;
 import com.klima.matej.tennis_reservations_system.params.CourtPatchParams;
+import com.klima.matej.tennis_reservations_system.params.ReservationBatchParams;
 import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
 import com.klima.matej.tennis_reservations_system.params.ReservationPatchParams;
+import com.klima.matej.tennis_reservations_system.params.ReservationSeriesCreateParams;
+import com.klima.matej.tennis_reservations_system.response.CourtAvailability;
+import com.klima.matej.tennis_reservations_system.response.CourtStats;
+import com.klima.matej.tennis_reservations_system.response.FreeSlot;
 import com.klima.matej.tennis_reservations_system.service.*;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,17 +24,36 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNotNull;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
 
@@ -52,6 +78,18 @@ class TennisReservationsSystemApplicationTests {
 	@MockBean
 	private ReservationService reservationService;
 
+	@MockBean
+	private BookingService bookingService;
+
+	@MockBean
+	private ReservationSeriesService reservationSeriesService;
+
+	@MockBean
+	private AvailabilityService availabilityService;
+
+	@MockBean
+	private CourtStatsService courtStatsService;
+
 	private static Surface SURFACE;
 	private static Court COURT_1;
 	private static Court COURT_2;
@@ -181,7 +219,7 @@ class TennisReservationsSystemApplicationTests {
 	public void getAllCourtsTest() throws Exception {
 		List<Court> courts = List.of(COURT_1, COURT_2);
 
-		doReturn(courts).when(courtService).findAll();
+		doReturn(courts).when(courtService).findPage(0, 100);
 
 		mockMvc.perform(MockMvcRequestBuilders
 						.get("/api/courts/all")
@@ -191,6 +229,66 @@ class TennisReservationsSystemApplicationTests {
 				.andExpect(jsonPath("$[1].name", is("Test Court 2")));
 	}
 
+	@Test
+	public void getAllCourtsPageTest() throws Exception {
+		List<Court> courts = List.of(COURT_2);
+
+		doReturn(courts).when(courtService).findPage(1, 1);
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/courts/all")
+						.param("after", "1")
+						.param("limit", "1")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)))
+				.andExpect(jsonPath("$[0].name", is("Test Court 2")));
+	}
+
+	@Test
+	public void getFreeSlotsTest() throws Exception {
+		Timestamp from = Timestamp.from(Instant.parse("2023-05-01T10:00:00Z"));
+		Timestamp to = Timestamp.from(Instant.parse("2023-05-01T14:00:00Z"));
+		List<CourtAvailability> availability = List.of(new CourtAvailability(COURT_2,
+				List.of(new FreeSlot(from, Timestamp.from(Instant.parse("2023-05-01T11:00:00Z"))))));
+
+		doReturn(availability).when(availabilityService).findFreeSlots(from, to, 1L, 60);
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/courts/free")
+						.param("from", "2023-05-01T10:00:00Z")
+						.param("to", "2023-05-01T14:00:00Z")
+						.param("surfaceId", "1")
+						.param("minMinutes", "60")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)))
+				.andExpect(jsonPath("$[0].court.name", is("Test Court 2")))
+				.andExpect(jsonPath("$[0].freeSlots", hasSize(1)));
+	}
+
+	@Test
+	public void getFreeSlotsTestInvalidRange() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/courts/free")
+						.param("from", "2023-05-01T14:00:00Z")
+						.param("to", "2023-05-01T10:00:00Z")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Beginning of the time range must be before its end.")));
+	}
+
+	@Test
+	public void getFreeSlotsTestTooLongRange() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/courts/free")
+						.param("from", "2023-05-01T00:00:00Z")
+						.param("to", "2023-07-01T00:00:00Z")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Time range must not be longer than 31 days.")));
+	}
+
 	@Test
 	public void getCourtByIdTest() throws Exception {
 		doReturn(COURT_1).when(courtService).findById(1);
@@ -387,7 +485,7 @@ class TennisReservationsSystemApplicationTests {
 	public void getAllReservationTest() throws Exception{
 		List<Reservation> reservations = List.of(RESERVATION_1, RESERVATION_2, RESERVATION_3);
 
-		doReturn(reservations).when(reservationService).findAll();
+		doReturn(reservations).when(reservationService).findPage(0, 100);
 
 		mockMvc.perform(MockMvcRequestBuilders
 						.get("/api/reservations/all")
@@ -397,6 +495,48 @@ class TennisReservationsSystemApplicationTests {
 				.andExpect(jsonPath("$[1].id", is(2)));
 	}
 
+	@Test
+	public void getAllReservationPageTest() throws Exception{
+		List<Reservation> reservations = List.of(RESERVATION_2, RESERVATION_3);
+
+		doReturn(reservations).when(reservationService).findPage(1, 2);
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/reservations/all")
+						.param("after", "1")
+						.param("limit", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].id", is(2)));
+	}
+
+	@Test
+	public void exportReservationsTest() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<Reservation> action = invocation.getArgument(0);
+			action.accept(RESERVATION_1);
+			action.accept(RESERVATION_2);
+			return 2L;
+		}).when(reservationService).streamAll(any());
+
+		MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/reservations/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String content = mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+
+		String[] lines = content.split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[1].startsWith("{"));
+		assertEquals(RESERVATION_1.getId(), mapper.readValue(lines[0], Reservation.class).getId());
+		assertEquals(RESERVATION_2.getPrice(), mapper.readValue(lines[1], Reservation.class).getPrice());
+	}
+
 	@Test
 	public void getReservationByIdTest() throws Exception {
 		doReturn(RESERVATION_1).when(reservationService).findById(1);
@@ -440,8 +580,8 @@ class TennisReservationsSystemApplicationTests {
 
 		doReturn(RESERVATION_1).when(reservationService).findById(1);
 		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
-		doReturn(CUSTOMER_2).when(customerService).findByPhoneNumber(CUSTOMER_2.getPhoneNumber());
-		doReturn(updatedReservation).when(reservationService).update(RESERVATION_1);
+		doReturn(CUSTOMER_2).when(customerService).findOrCreate(CUSTOMER_2.getPhoneNumber(), CUSTOMER_2.getName());
+		doReturn(BookingResult.created(updatedReservation)).when(bookingService).update(RESERVATION_1);
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.put("/api/reservations/id/1")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -523,8 +663,9 @@ class TennisReservationsSystemApplicationTests {
 
 		doReturn(RESERVATION_1).when(reservationService).findById(1);
 		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
-		doReturn(null).when(customerService).findByPhoneNumber("Created phone number");
-		doReturn(updatedReservation).when(reservationService).update(RESERVATION_1);
+		doReturn(Customer.builder().phoneNumber("Created phone number").name("Created name").build())
+				.when(customerService).findOrCreate("Created phone number", "Created name");
+		doReturn(BookingResult.created(updatedReservation)).when(bookingService).update(RESERVATION_1);
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.put("/api/reservations/id/1")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -537,6 +678,29 @@ class TennisReservationsSystemApplicationTests {
 				.andExpect(jsonPath("$.court.name", is("Test Court 2")));
 	}
 
+	@Test
+	public void updateReservationByIdTestOverlapping() throws Exception {
+		ReservationCreateParams params = ReservationCreateParams.builder()
+				.courtId(COURT_2.getId())
+				.customerPhoneNumber(CUSTOMER_2.getPhoneNumber())
+				.customerName(CUSTOMER_2.getName())
+				.isDoubles(true)
+				.startsAt(Timestamp.valueOf("2025-01-01 10:00:00"))
+				.endsAt(Timestamp.valueOf("2025-01-01 11:00:00"))
+				.build();
+
+		doReturn(RESERVATION_1).when(reservationService).findById(1);
+		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
+		doReturn(CUSTOMER_2).when(customerService).findOrCreate(CUSTOMER_2.getPhoneNumber(), CUSTOMER_2.getName());
+		doReturn(BookingResult.rejected(BookingResult.Status.OVERLAPPING)).when(bookingService).update(RESERVATION_1);
+
+		mockMvc.perform(MockMvcRequestBuilders.put("/api/reservations/id/1")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.mapper.writeValueAsString(params)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Reservation is overlapping with existing reservation.")));
+	}
+
 	@Test
 	public void patchReservationByIdTest() throws Exception {
 		ReservationPatchParams params = ReservationPatchParams.builder()
@@ -559,8 +723,8 @@ class TennisReservationsSystemApplicationTests {
 
 		doReturn(RESERVATION_1).when(reservationService).findById(1);
 		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
-		doReturn(CUSTOMER_2).when(customerService).findByPhoneNumber(CUSTOMER_2.getPhoneNumber());
-		doReturn(patchedReservation).when(reservationService).update(RESERVATION_1);
+		doReturn(CUSTOMER_2).when(customerService).findOrCreate(CUSTOMER_2.getPhoneNumber(), CUSTOMER_2.getName());
+		doReturn(BookingResult.created(patchedReservation)).when(bookingService).update(RESERVATION_1);
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.patch("/api/reservations/id/1")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -641,8 +805,9 @@ class TennisReservationsSystemApplicationTests {
 
 		doReturn(RESERVATION_1).when(reservationService).findById(1);
 		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
-		doReturn(null).when(customerService).findByPhoneNumber("Created phone number");
-		doReturn(updatedReservation).when(reservationService).update(RESERVATION_1);
+		doReturn(Customer.builder().phoneNumber("Created phone number").name("Created name").build())
+				.when(customerService).findOrCreate("Created phone number", "Created name");
+		doReturn(BookingResult.created(updatedReservation)).when(bookingService).update(RESERVATION_1);
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.patch("/api/reservations/id/1")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -669,10 +834,10 @@ class TennisReservationsSystemApplicationTests {
 	@Test
 	public void getSortedReservationsByCourtIdTest() throws Exception {
 		List<Reservation> reservations = new ArrayList<>();
-		reservations.add(RESERVATION_1);
 		reservations.add(RESERVATION_2);
+		reservations.add(RESERVATION_1);
 
-		doReturn(reservations).when(reservationService).findAllByCourtId(1);
+		doReturn(reservations).when(reservationService).findAllByCourtId(1, null, null);
 
 		mockMvc.perform(MockMvcRequestBuilders
 						.get("/api/reservations/court/1")
@@ -682,6 +847,25 @@ class TennisReservationsSystemApplicationTests {
 				.andExpect(jsonPath("$[0].id", is(2)));
 	}
 
+	@Test
+	public void getReservationsByCourtIdInRangeTest() throws Exception {
+		List<Reservation> reservations = new ArrayList<>();
+		reservations.add(RESERVATION_1);
+
+		doReturn(reservations).when(reservationService).findAllByCourtId(1,
+				Timestamp.from(Instant.parse("2023-05-01T00:00:00Z")),
+				Timestamp.from(Instant.parse("2023-05-02T00:00:00Z")));
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/reservations/court/1")
+						.param("from", "2023-05-01T00:00:00Z")
+						.param("to", "2023-05-02T00:00:00Z")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)))
+				.andExpect(jsonPath("$[0].id", is(1)));
+	}
+
 	@Test
 	public void getAllReservationsByPhoneTest() throws Exception {
 		List<Reservation> reservations = new ArrayList<>();
@@ -713,6 +897,22 @@ class TennisReservationsSystemApplicationTests {
 				.andExpect(jsonPath("$[0].id", is(3)));
 	}
 
+	@Test
+	public void getFutureReservationsByPhoneLimitTest() throws Exception {
+		List<Reservation> reservations = new ArrayList<>();
+		reservations.add(RESERVATION_3);
+
+		doReturn(reservations).when(reservationService).findFutureByPhoneNumber("123", 1);
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/reservations/phone/future/123")
+						.param("limit", "1")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)))
+				.andExpect(jsonPath("$[0].id", is(3)));
+	}
+
 	@Test
 	public void createReservationTest() throws Exception {
 		ReservationCreateParams params = ReservationCreateParams.builder()
@@ -732,9 +932,7 @@ class TennisReservationsSystemApplicationTests {
 				.court(COURT_2)
 				.build();
 
-		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
-		doReturn(CUSTOMER_2).when(customerService).findByPhoneNumber(CUSTOMER_2.getPhoneNumber());
-		doReturn(createdReservation).when(reservationService).save(isNotNull());
+		doReturn(BookingResult.created(createdReservation)).when(bookingService).book(any());
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/reservations")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -758,7 +956,7 @@ class TennisReservationsSystemApplicationTests {
 				.endsAt(Timestamp.valueOf("2025-01-01 11:00:00"))
 				.build();
 
-		doReturn(null).when(courtService).findById(-1);
+		doReturn(BookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND)).when(bookingService).book(any());
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/reservations")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -789,9 +987,7 @@ class TennisReservationsSystemApplicationTests {
 				.court(COURT_2)
 				.build();
 
-		doReturn(COURT_2).when(courtService).findById(COURT_2.getId());
-		doReturn(null).when(customerService).findByPhoneNumber("Created phone number");
-		doReturn(createdReservation).when(reservationService).save(isNotNull());
+		doReturn(BookingResult.created(createdReservation)).when(bookingService).book(any());
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/reservations")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -806,8 +1002,6 @@ class TennisReservationsSystemApplicationTests {
 
 	@Test
 	public void createReservationTestCourtOverlapping() throws Exception {
-		List<Reservation> reservations = List.of(RESERVATION_1, RESERVATION_2);
-
 		ReservationCreateParams params = ReservationCreateParams.builder()
 				.courtId(1)
 				.customerPhoneNumber(CUSTOMER_2.getPhoneNumber())
@@ -817,7 +1011,7 @@ class TennisReservationsSystemApplicationTests {
 				.endsAt(Timestamp.valueOf("2030-01-01 11:00:00"))
 				.build();
 
-		doReturn(reservations).when(reservationService).findAllByCourtId(1);
+		doReturn(BookingResult.rejected(BookingResult.Status.OVERLAPPING)).when(bookingService).book(any());
 
 		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/reservations")
 				.contentType(MediaType.APPLICATION_JSON)
@@ -829,6 +1023,298 @@ class TennisReservationsSystemApplicationTests {
 				.andExpect(jsonPath("$", is("Reservation is overlapping with existing reservation.")));
 	}
 
+	@Test
+	public void createReservationTestFailed() throws Exception {
+		ReservationCreateParams params = ReservationCreateParams.builder()
+				.courtId(COURT_2.getId())
+				.customerPhoneNumber(CUSTOMER_2.getPhoneNumber())
+				.customerName(CUSTOMER_2.getName())
+				.isDoubles(false)
+				.startsAt(Timestamp.valueOf("2025-01-01 10:00:00"))
+				.endsAt(Timestamp.valueOf("2025-01-01 11:00:00"))
+				.build();
+
+		doReturn(BookingResult.rejected(BookingResult.Status.FAILED)).when(bookingService).book(any());
+
+		MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/reservations")
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.content(this.mapper.writeValueAsString(params));
+
+		mockMvc.perform(mockRequest)
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$", is("Reservation could not be saved.")));
+	}
+
+	private static ReservationCreateParams batchItem(long courtId, String startsAt, String endsAt) {
+		return ReservationCreateParams.builder()
+				.courtId(courtId)
+				.customerPhoneNumber(CUSTOMER_2.getPhoneNumber())
+				.customerName(CUSTOMER_2.getName())
+				.isDoubles(false)
+				.startsAt(Timestamp.valueOf(startsAt))
+				.endsAt(Timestamp.valueOf(endsAt))
+				.build();
+	}
+
+	private MockHttpServletRequestBuilder batchRequest(ReservationCreateParams... items) throws Exception {
+		ReservationBatchParams params = ReservationBatchParams.builder()
+				.reservations(List.of(items))
+				.build();
+
+		return MockMvcRequestBuilders.post("/api/reservations/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.content(this.mapper.writeValueAsString(params));
+	}
+
+	@Test
+	public void createReservationsTest() throws Exception {
+		Map<Long, Court> courts = Map.of(COURT_1.getId(), COURT_1, COURT_2.getId(), COURT_2);
+		doAnswer(invocation -> {
+			List<ReservationCreateParams> items = invocation.getArgument(0);
+			return BatchBookingResult.created(items.stream()
+					.map(item -> new Reservation(item.isDoubles(), CUSTOMER_2, courts.get(item.getCourtId()),
+							item.getStartsAt(), item.getEndsAt()))
+					.toList());
+		}).when(bookingService).bookAll(anyList());
+
+		mockMvc.perform(batchRequest(
+						batchItem(COURT_1.getId(), "2025-01-01 10:00:00", "2025-01-01 11:00:00"),
+						batchItem(COURT_2.getId(), "2025-01-01 10:00:00", "2025-01-01 12:00:00"),
+						batchItem(COURT_1.getId(), "2025-01-01 11:00:00", "2025-01-01 11:30:00")))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$", hasSize(3)))
+				.andExpect(jsonPath("$[0]", is(600.0)))
+				.andExpect(jsonPath("$[1]", is(1200.0)))
+				.andExpect(jsonPath("$[2]", is(300.0)));
+	}
+
+	@Test
+	public void createReservationsTestOverlappingEachOther() throws Exception {
+		mockMvc.perform(batchRequest(
+						batchItem(COURT_1.getId(), "2025-01-01 10:00:00", "2025-01-01 13:00:00"),
+						batchItem(COURT_2.getId(), "2025-01-01 11:00:00", "2025-01-01 12:00:00"),
+						batchItem(COURT_1.getId(), "2025-01-01 11:00:00", "2025-01-01 12:00:00"),
+						batchItem(COURT_1.getId(), "2025-01-01 12:30:00", "2025-01-01 14:00:00")))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Reservation 2 is overlapping with reservation 0.")));
+		verify(bookingService, never()).bookAll(anyList());
+	}
+
+	@Test
+	public void createReservationsTestOverlappingExisting() throws Exception {
+		doReturn(BatchBookingResult.rejected(BookingResult.Status.OVERLAPPING, 1)).when(bookingService).bookAll(anyList());
+
+		mockMvc.perform(batchRequest(
+						batchItem(COURT_1.getId(), "2025-01-01 09:00:00", "2025-01-01 10:30:00"),
+						batchItem(COURT_1.getId(), "2025-01-01 11:00:00", "2025-01-01 12:00:00")))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Reservation 1 is overlapping with existing reservation.")));
+	}
+
+	@Test
+	public void createReservationsTestCourtNotFound() throws Exception {
+		doReturn(BatchBookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND, 1)).when(bookingService).bookAll(anyList());
+
+		mockMvc.perform(batchRequest(
+						batchItem(COURT_1.getId(), "2025-01-01 10:00:00", "2025-01-01 11:00:00"),
+						batchItem(-1, "2025-01-01 10:00:00", "2025-01-01 11:00:00")))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Court with id -1 not found.")));
+	}
+
+	@Test
+	public void createReservationsTestFailed() throws Exception {
+		doReturn(BatchBookingResult.failed()).when(bookingService).bookAll(anyList());
+
+		mockMvc.perform(batchRequest(
+						batchItem(COURT_1.getId(), "2025-01-01 10:00:00", "2025-01-01 11:00:00")))
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$", is("Reservations could not be saved.")));
+	}
+
+	@Test
+	public void createReservationsTestInvalidRange() throws Exception {
+		mockMvc.perform(batchRequest(
+						batchItem(COURT_1.getId(), "2025-01-01 10:00:00", "2025-01-01 11:00:00"),
+						batchItem(COURT_1.getId(), "2025-01-01 12:00:00", "2025-01-01 12:00:00")))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Reservation 1 must begin before it ends.")));
+	}
+
+	@Test
+	public void createReservationsTestEmpty() throws Exception {
+		mockMvc.perform(batchRequest())
+				.andExpect(status().isBadRequest());
+	}
+
+	private static ReservationSeriesCreateParams.ReservationSeriesCreateParamsBuilder seriesParams() {
+		// Mondays of March 2025
+		return ReservationSeriesCreateParams.builder()
+				.courtId(COURT_1.getId())
+				.customerPhoneNumber(CUSTOMER_2.getPhoneNumber())
+				.customerName(CUSTOMER_2.getName())
+				.isDoubles(false)
+				.dayOfWeek(DayOfWeek.MONDAY)
+				.startTime(LocalTime.of(18, 0))
+				.endTime(LocalTime.of(19, 0))
+				.startsOn(LocalDate.of(2025, 3, 1))
+				.until(LocalDate.of(2025, 3, 31));
+	}
+
+	private MockHttpServletRequestBuilder seriesRequest(ReservationSeriesCreateParams params) throws Exception {
+		return MockMvcRequestBuilders.post("/api/series")
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.content(this.mapper.writeValueAsString(params));
+	}
+
+	@Test
+	public void createReservationSeriesTest() throws Exception {
+		CourtTimeline timeline = new CourtTimeline();
+		timeline.add(Timestamp.valueOf("2025-03-10 17:00:00").getTime(), Timestamp.valueOf("2025-03-10 18:00:00").getTime());
+
+		doReturn(COURT_1).when(courtService).findById(COURT_1.getId());
+		doReturn(CUSTOMER_2).when(customerService).findOrCreate(CUSTOMER_2.getPhoneNumber(), CUSTOMER_2.getName());
+		doReturn(Map.of(COURT_1.getId(), timeline)).when(reservationService).findTimelines(List.of(COURT_1.getId()),
+				Timestamp.valueOf("2025-03-01 00:00:00"), Timestamp.valueOf("2025-04-01 00:00:00"));
+		doAnswer(invocation -> invocation.getArgument(0)).when(reservationSeriesService).save(isNotNull());
+
+		mockMvc.perform(seriesRequest(seriesParams().build()))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.dayOfWeek", is("MONDAY")))
+				.andExpect(jsonPath("$.startTime", is("18:00:00")))
+				.andExpect(jsonPath("$.until", is("2025-03-31")))
+				.andExpect(jsonPath("$.price", is(600.0)))
+				.andExpect(jsonPath("$.customer.id", is(2)))
+				.andExpect(jsonPath("$.court.id", is(1)));
+	}
+
+	@Test
+	public void createReservationSeriesTestOverlapping() throws Exception {
+		CourtTimeline timeline = new CourtTimeline();
+		timeline.add(Timestamp.valueOf("2025-03-17 18:30:00").getTime(), Timestamp.valueOf("2025-03-17 20:00:00").getTime());
+
+		doReturn(COURT_1).when(courtService).findById(COURT_1.getId());
+		doReturn(Map.of(COURT_1.getId(), timeline)).when(reservationService).findTimelines(any(), any(), any());
+
+		mockMvc.perform(seriesRequest(seriesParams().build()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Occurrence on 2025-03-17 is overlapping with existing reservation.")));
+	}
+
+	@Test
+	public void createReservationSeriesTestCourtNotFound() throws Exception {
+		doReturn(null).when(courtService).findById(-1);
+
+		mockMvc.perform(seriesRequest(seriesParams().courtId(-1).build()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Court with id -1 not found.")));
+	}
+
+	@Test
+	public void createReservationSeriesTestInvalidTimes() throws Exception {
+		mockMvc.perform(seriesRequest(seriesParams().endTime(LocalTime.of(18, 0)).build()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Occurrences must begin before they end.")));
+	}
+
+	@Test
+	public void createReservationSeriesTestNoOccurrence() throws Exception {
+		mockMvc.perform(seriesRequest(seriesParams().startsOn(LocalDate.of(2025, 3, 4)).until(LocalDate.of(2025, 3, 9)).build()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Series has no occurrence.")));
+	}
+
+	@Test
+	public void createReservationSeriesTestEndsBeforeStart() throws Exception {
+		mockMvc.perform(seriesRequest(seriesParams().startsOn(LocalDate.of(2025, 3, 31)).until(LocalDate.of(2025, 3, 1)).build()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Series must not end before it starts.")));
+	}
+
+	@Test
+	public void createReservationSeriesTestTooLong() throws Exception {
+		mockMvc.perform(seriesRequest(seriesParams().startsOn(LocalDate.of(2025, 3, 1)).until(LocalDate.of(2027, 3, 1)).build()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Series must not be longer than 104 weeks.")));
+	}
+
+	@Test
+	public void getReservationSeriesOccurrencesTest() throws Exception {
+		Instant from = Instant.parse("2025-03-01T00:00:00Z");
+		Instant to = Instant.parse("2025-03-15T00:00:00Z");
+		doReturn(List.of(RESERVATION_2, RESERVATION_3)).when(reservationSeriesService)
+				.findOccurrences(COURT_1.getId(), Timestamp.from(from), Timestamp.from(to));
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/series/court/1/occurrences?from=" + from + "&to=" + to)
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].id", is(2)));
+	}
+
+	@Test
+	public void getReservationSeriesOccurrencesTestTooLongRange() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/series/court/1/occurrences?from=2025-01-01T00:00:00Z&to=2025-03-01T00:00:00Z")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Time range must not be longer than 31 days.")));
+	}
+
+	@Test
+	public void getDailyStatsTest() throws Exception {
+		CourtDailyStats stats = new CourtDailyStats(1, LocalDate.of(2025, 1, 1), 90, 900, 2);
+		doReturn(List.of(stats)).when(courtStatsService)
+				.findDaily(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null, 1L);
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/stats/daily?from=2025-01-01&to=2025-01-31&surfaceId=1")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)))
+				.andExpect(jsonPath("$[0].courtId", is(1)))
+				.andExpect(jsonPath("$[0].day", is("2025-01-01")))
+				.andExpect(jsonPath("$[0].bookedMinutes", is(90)))
+				.andExpect(jsonPath("$[0].revenue", is(900.0)))
+				.andExpect(jsonPath("$[0].bookings", is(2)));
+	}
+
+	@Test
+	public void getCourtStatsTest() throws Exception {
+		doReturn(List.of(new CourtStats(1, 120, 1200, 2), new CourtStats(2, 60, 600, 1))).when(courtStatsService)
+				.findTotals(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), null);
+
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/stats/courts?from=2025-01-01&to=2025-12-31")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[1].courtId", is(2)))
+				.andExpect(jsonPath("$[1].revenue", is(600.0)));
+	}
+
+	@Test
+	public void getCourtStatsTestInvalidRange() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/stats/courts?from=2025-02-01&to=2025-01-31")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("First day must not be after the last day.")));
+	}
+
+	@Test
+	public void getDailyStatsTestTooLongRange() throws Exception {
+		mockMvc.perform(MockMvcRequestBuilders
+						.get("/api/stats/daily?from=2025-01-01&to=2026-01-02")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$", is("Range of days must not be longer than 366 days.")));
+	}
+
 	@Test
 	public void testInit() {
 		TennisReservationsSystemApplication app = new TennisReservationsSystemApplication();
@@ -836,4 +1322,86 @@ class TennisReservationsSystemApplicationTests {
 		assertTrue(app.initData());
 	}
 
+	/**
+	 * Performs the request and fails when it runs more SQL statements than its budget.
+	 * Only services whose methods are delegated to the real implementation run statements, mocked services run none.
+	 * @param request request to be performed, it must succeed with 200 OK code
+	 * @param budget maximum number of SQL statements the request may run
+	 * @return result of the request
+	 */
+	private MvcResult performWithinStatementBudget(MockHttpServletRequestBuilder request, int budget) throws Exception {
+		MvcResult result = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andExpect(header().exists(SqlStatementFilter.STATEMENTS_HEADER))
+				.andReturn();
+		int statements = Integer.parseInt(result.getResponse().getHeader(SqlStatementFilter.STATEMENTS_HEADER));
+		assertTrue(statements <= budget, result.getRequest().getRequestURI() + " ran " + statements
+				+ " SQL statements, its budget is " + budget);
+		return result;
+	}
+
+	private void assertReservationListsWithinStatementBudget(long courtId, String phoneNumber, int reservations) throws Exception {
+		performWithinStatementBudget(MockMvcRequestBuilders.get("/api/reservations/all"), 1);
+		performWithinStatementBudget(MockMvcRequestBuilders.get("/api/courts/all"), 1);
+		MvcResult byCourt = performWithinStatementBudget(MockMvcRequestBuilders.get("/api/reservations/court/" + courtId), 1);
+		assertEquals(reservations, mapper.readTree(byCourt.getResponse().getContentAsString()).size());
+		performWithinStatementBudget(MockMvcRequestBuilders.get("/api/reservations/phone/all/" + phoneNumber), 1);
+		performWithinStatementBudget(MockMvcRequestBuilders.get("/api/reservations/phone/future/" + phoneNumber), 1);
+	}
+
+	@Test
+	public void testReservationListsWithinStatementBudget() throws Exception {
+		CustomerService customers = new CustomerServiceImpl();
+		SurfaceService surfaces = new SurfaceServiceImpl();
+		CourtService courts = new CourtServiceImpl();
+		ReservationService reservations = new ReservationServiceImpl();
+		doAnswer(delegatesTo(reservations)).when(reservationService).findPage(anyLong(), anyInt());
+		doAnswer(delegatesTo(reservations)).when(reservationService).findAllByCourtId(anyLong(), isNull(), isNull());
+		doAnswer(delegatesTo(reservations)).when(reservationService).findAllByPhoneNumber(anyString());
+		doAnswer(delegatesTo(reservations)).when(reservationService).findFutureByPhoneNumber(anyString());
+		doAnswer(delegatesTo(courts)).when(courtService).findPage(anyLong(), anyInt());
+
+		Surface surface = new Surface();
+		surface.setName("Statement Budget Surface");
+		surface.setMinutePrice(1);
+		surfaces.save(surface);
+		List<Court> savedCourts = new ArrayList<>();
+		List<Customer> savedCustomers = new ArrayList<>();
+		List<Reservation> savedReservations = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Court court = new Court();
+			court.setName("Statement Budget Court " + i);
+			court.setSurface(surface);
+			savedCourts.add(courts.save(court));
+
+			Customer customer = new Customer();
+			customer.setName("Statement Budget Customer " + i);
+			customer.setPhoneNumber("Statement-Budget-" + i);
+			savedCustomers.add(customers.save(customer));
+		}
+		Court court = savedCourts.get(0);
+		String phoneNumber = savedCustomers.get(0).getPhoneNumber();
+
+		savedReservations.add(reservations.save(new Reservation(false, savedCustomers.get(0), court,
+				Timestamp.valueOf("2032-01-01 08:00:00"), Timestamp.valueOf("2032-01-01 09:00:00"))));
+		assertReservationListsWithinStatementBudget(court.getId(), phoneNumber, 1);
+
+		for (int i = 1; i < 5; i++) {
+			savedReservations.add(reservations.save(new Reservation(false, savedCustomers.get(i), court,
+					Timestamp.valueOf("2032-01-0" + (i + 1) + " 08:00:00"), Timestamp.valueOf("2032-01-0" + (i + 1) + " 09:00:00"))));
+			savedReservations.add(reservations.save(new Reservation(false, savedCustomers.get(0), savedCourts.get(i),
+					Timestamp.valueOf("2032-01-0" + (i + 1) + " 10:00:00"), Timestamp.valueOf("2032-01-0" + (i + 1) + " 11:00:00"))));
+		}
+		assertReservationListsWithinStatementBudget(court.getId(), phoneNumber, 5);
+
+		for (Reservation reservation : savedReservations) {
+			reservations.deleteById(reservation.getId());
+		}
+		for (int i = 0; i < 5; i++) {
+			courts.deleteById(savedCourts.get(i).getId());
+			customers.deleteById(savedCustomers.get(i).getId());
+		}
+		surfaces.deleteById(surface.getId());
+	}
+
 }
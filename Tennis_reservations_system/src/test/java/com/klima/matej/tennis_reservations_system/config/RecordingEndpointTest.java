@@ -0,0 +1,59 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.service.RecordingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingEndpointTest {
+    private final RecordingEndpoint recordingEndpoint = new RecordingEndpoint(new RecordingServiceImpl());
+
+    @AfterEach
+    public void tearDown() {
+        recordingEndpoint.stop();
+    }
+
+    @Test
+    public void testStartStopAndDownload() throws IOException {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, recordingEndpoint.download().getStatus());
+
+        WebEndpointResponse<String> started = recordingEndpoint.start(null, 10L);
+        assertEquals(WebEndpointResponse.STATUS_OK, started.getStatus());
+        assertEquals("Recording started.", started.getBody());
+        WebEndpointResponse<String> running = recordingEndpoint.start(null, null);
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, running.getStatus());
+        assertEquals("Recording is already running.", running.getBody());
+
+        WebEndpointResponse<String> stopped = recordingEndpoint.stop();
+        assertEquals(WebEndpointResponse.STATUS_OK, stopped.getStatus());
+        assertEquals("Recording stopped.", stopped.getBody());
+        WebEndpointResponse<String> notRunning = recordingEndpoint.stop();
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, notRunning.getStatus());
+        assertEquals("No recording is running.", notRunning.getBody());
+
+        WebEndpointResponse<Resource> download = recordingEndpoint.download();
+        assertEquals(WebEndpointResponse.STATUS_OK, download.getStatus());
+        try (InputStream data = download.getBody().getInputStream()) {
+            assertTrue(data.readAllBytes().length > 0);
+        }
+    }
+
+    @Test
+    public void testStartRejectsInvalidLimits() {
+        String errorMessage = "Recording must last from 1 to 60 minutes and keep from 1 to 500 MB.";
+        for (WebEndpointResponse<String> response : new WebEndpointResponse[] {
+                recordingEndpoint.start(61L, null),
+                recordingEndpoint.start(0L, null),
+                recordingEndpoint.start(null, 0L),
+                recordingEndpoint.start(null, Long.MAX_VALUE)}) {
+            assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, response.getStatus());
+            assertEquals(errorMessage, response.getBody());
+        }
+    }
+}
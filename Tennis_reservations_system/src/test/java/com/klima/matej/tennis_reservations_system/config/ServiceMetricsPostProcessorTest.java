@@ -0,0 +1,139 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
+import com.klima.matej.tennis_reservations_system.service.BatchBookingResult;
+import com.klima.matej.tennis_reservations_system.service.BookingResult;
+import com.klima.matej.tennis_reservations_system.service.BookingService;
+import com.klima.matej.tennis_reservations_system.service.CustomerService;
+import com.klima.matej.tennis_reservations_system.service.ReservationService;
+import com.klima.matej.tennis_reservations_system.service.SurfaceService;
+import com.klima.matej.tennis_reservations_system.service.SurfaceServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceMetricsPostProcessorTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(MetricsConfig.class)
+            .withBean(PrometheusMeterRegistry.class, () -> new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+
+    @Service
+    static class RejectingBookingService implements BookingService {
+        @Override
+        public BookingResult book(ReservationCreateParams params) {
+            if (params == null) {
+                throw new IllegalArgumentException();
+            }
+            return BookingResult.rejected(BookingResult.Status.OVERLAPPING);
+        }
+
+        @Override
+        public BatchBookingResult bookAll(List<ReservationCreateParams> params) {
+            return BatchBookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND, 0);
+        }
+
+        @Override
+        public BookingResult update(Reservation reservation) {
+            return BookingResult.rejected(BookingResult.Status.RESERVATION_NOT_FOUND);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String service, String method, String outcome) {
+        return registry.get("service.operations")
+                .tags("service", service, "method", method, "outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    public void testServiceOperationsAreTimedByOutcome() {
+        contextRunner.withBean(SurfaceServiceImpl.class, SurfaceServiceImpl::new).run(context -> {
+            SurfaceService surfaceService = context.getBean(SurfaceService.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            Surface surface = new Surface();
+            surface.setName("Service Metrics Test Surface");
+            surface.setMinutePrice(1);
+
+            surfaceService.save(surface);
+            assertNotNull(surfaceService.findById(surface.getId()));
+            assertNull(surfaceService.findById(-1));
+            assertTrue(surfaceService.deleteById(surface.getId()));
+
+            assertEquals(1, timer(registry, "SurfaceServiceImpl", "save", "success").count());
+            assertEquals(1, timer(registry, "SurfaceServiceImpl", "findById", "success").count());
+            assertEquals(1, timer(registry, "SurfaceServiceImpl", "findById", "not-found").count());
+            assertEquals(1, timer(registry, "SurfaceServiceImpl", "deleteById", "success").count());
+            assertTrue(context.getBean(PrometheusMeterRegistry.class).scrape().contains(
+                    "service_operations_seconds_bucket{method=\"save\",outcome=\"success\",service=\"SurfaceServiceImpl\","));
+        });
+    }
+
+    @Test
+    public void testBookingOutcomeAndErrors() {
+        contextRunner.withBean(RejectingBookingService.class).run(context -> {
+            BookingService bookingService = context.getBean(BookingService.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            assertEquals(BookingResult.Status.OVERLAPPING,
+                    bookingService.book(ReservationCreateParams.builder().build()).getStatus());
+            assertThrows(IllegalArgumentException.class, () -> bookingService.book(null));
+            assertEquals(BookingResult.Status.COURT_NOT_FOUND, bookingService.bookAll(List.of()).getStatus());
+            assertEquals(BookingResult.Status.RESERVATION_NOT_FOUND, bookingService.update(new Reservation()).getStatus());
+
+            assertEquals(1, timer(registry, "RejectingBookingService", "book", "overlap").count());
+            assertEquals(1, timer(registry, "RejectingBookingService", "book", "error").count());
+            assertEquals(1, timer(registry, "RejectingBookingService", "bookAll", "not-found").count());
+            assertEquals(1, timer(registry, "RejectingBookingService", "update", "not-found").count());
+        });
+    }
+
+    @Test
+    public void testOutcomeOfReturnedValue() throws NoSuchMethodException {
+        Method save = SurfaceService.class.getMethod("save", Object.class);
+        Method findById = SurfaceService.class.getMethod("findById", long.class);
+        Method deleteById = SurfaceService.class.getMethod("deleteById", long.class);
+        Method findOrCreate = CustomerService.class.getMethod("findOrCreate", String.class, String.class);
+        Method existsOverlapping = ReservationService.class.getMethod("existsOverlapping",
+                long.class, Timestamp.class, Timestamp.class);
+
+        assertEquals("success", ServiceMetricsPostProcessor.outcome(save, new Surface()));
+        assertEquals("failed", ServiceMetricsPostProcessor.outcome(save, null));
+        assertEquals("success", ServiceMetricsPostProcessor.outcome(findById, new Surface()));
+        assertEquals("not-found", ServiceMetricsPostProcessor.outcome(findById, null));
+        assertEquals("failed", ServiceMetricsPostProcessor.outcome(findOrCreate, null));
+        assertEquals("success", ServiceMetricsPostProcessor.outcome(deleteById, true));
+        assertEquals("failed", ServiceMetricsPostProcessor.outcome(deleteById, false));
+        assertEquals("success", ServiceMetricsPostProcessor.outcome(existsOverlapping, false));
+    }
+
+    @Test
+    public void testOutcomeOfBooking() throws NoSuchMethodException {
+        Method book = BookingService.class.getMethod("book", ReservationCreateParams.class);
+        Method bookAll = BookingService.class.getMethod("bookAll", List.class);
+
+        assertEquals("created", ServiceMetricsPostProcessor.outcome(book, BookingResult.created(null)));
+        assertEquals("overlap", ServiceMetricsPostProcessor.outcome(book,
+                BookingResult.rejected(BookingResult.Status.OVERLAPPING)));
+        assertEquals("not-found", ServiceMetricsPostProcessor.outcome(book,
+                BookingResult.rejected(BookingResult.Status.COURT_NOT_FOUND)));
+        assertEquals("not-found", ServiceMetricsPostProcessor.outcome(book,
+                BookingResult.rejected(BookingResult.Status.RESERVATION_NOT_FOUND)));
+        assertEquals("failed", ServiceMetricsPostProcessor.outcome(book,
+                BookingResult.rejected(BookingResult.Status.FAILED)));
+        assertEquals("created", ServiceMetricsPostProcessor.outcome(bookAll, BatchBookingResult.created(List.of())));
+        assertEquals("overlap", ServiceMetricsPostProcessor.outcome(bookAll,
+                BatchBookingResult.rejected(BookingResult.Status.OVERLAPPING, 1)));
+        assertEquals("failed", ServiceMetricsPostProcessor.outcome(bookAll, BatchBookingResult.failed()));
+    }
+}
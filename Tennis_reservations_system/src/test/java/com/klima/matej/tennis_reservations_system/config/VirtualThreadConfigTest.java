@@ -0,0 +1,34 @@
+package com.klima.matej.tennis_reservations_system.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    public void testDisabledByDefault() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("applicationTaskExecutor"));
+            assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).isEmpty());
+        });
+    }
+
+    @Test
+    public void testTasksRunOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertEquals(1, context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).size());
+
+            AsyncTaskExecutor executor = context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class);
+            CompletableFuture<Boolean> virtual = executor.submitCompletable(() -> Thread.currentThread().isVirtual());
+            assertTrue(virtual.get());
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.klima.matej.tennis_reservations_system.entity;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationSeriesTest {
+    private static ReservationSeries SERIES;
+
+    @BeforeAll
+    public static void setUpSeries() {
+        Surface surface = new Surface(1, "Test Surface", 10, new HashSet<>(), false);
+        Court court = new Court(1, "Test Court", surface, new HashSet<>(), false);
+
+        // Mondays from 2 January 2023 to 25 December 2023
+        SERIES = new ReservationSeries();
+        SERIES.setCourt(court);
+        SERIES.setDayOfWeek(DayOfWeek.MONDAY);
+        SERIES.setStartTime(LocalTime.of(18, 0));
+        SERIES.setEndTime(LocalTime.of(19, 30));
+        SERIES.setStartsOn(LocalDate.of(2023, 1, 1));
+        SERIES.setUntil(LocalDate.of(2023, 12, 31));
+    }
+
+    private static long millis(String timestamp) {
+        return Timestamp.valueOf(timestamp).getTime();
+    }
+
+    @Test
+    public void testCountOccurrences() {
+        assertEquals(52, SERIES.countOccurrences());
+    }
+
+    @Test
+    public void testCountOccurrencesNone() {
+        ReservationSeries series = new ReservationSeries();
+        series.setDayOfWeek(DayOfWeek.MONDAY);
+        series.setStartsOn(LocalDate.of(2023, 1, 3));
+        series.setUntil(LocalDate.of(2023, 1, 8));
+
+        assertEquals(0, series.countOccurrences());
+    }
+
+    @Test
+    public void testBuilderDefaults() {
+        ReservationSeries series = ReservationSeries.builder().dayOfWeek(DayOfWeek.MONDAY).build();
+
+        assertNotNull(series.getCreatedAt());
+        assertFalse(series.getDeleted());
+        assertNotNull(new ReservationSeries().getCreatedAt());
+        assertFalse(new ReservationSeries().getDeleted());
+    }
+
+    @Test
+    public void testCalculatePrice() {
+        assertEquals(900, SERIES.calculatePrice());
+    }
+
+    @Test
+    public void testOccurrencesWithinRange() {
+        List<long[]> occurrences = SERIES.occurrences(millis("2023-03-01 00:00:00"), millis("2023-03-20 18:30:00"));
+
+        assertEquals(3, occurrences.size());
+        assertEquals(millis("2023-03-06 18:00:00"), occurrences.get(0)[0]);
+        assertEquals(millis("2023-03-06 19:30:00"), occurrences.get(0)[1]);
+        assertEquals(millis("2023-03-20 18:00:00"), occurrences.get(2)[0]);
+    }
+
+    @Test
+    public void testOccurrencesOutsideSeries() {
+        assertTrue(SERIES.occurrences(millis("2022-12-01 00:00:00"), millis("2023-01-02 18:00:00")).isEmpty());
+        assertTrue(SERIES.occurrences(millis("2023-12-25 19:30:00"), millis("2024-02-01 00:00:00")).isEmpty());
+        assertTrue(SERIES.occurrences(millis("2023-03-07 00:00:00"), millis("2023-03-12 00:00:00")).isEmpty());
+    }
+
+    @Test
+    public void testExpand() {
+        List<Reservation> reservations = SERIES.expand(Timestamp.valueOf("2023-03-06 19:00:00"), Timestamp.valueOf("2023-03-14 00:00:00"));
+
+        assertEquals(2, reservations.size());
+        assertEquals(Timestamp.valueOf("2023-03-06 18:00:00"), reservations.get(0).getStartsAt());
+        assertEquals(Timestamp.valueOf("2023-03-13 19:30:00"), reservations.get(1).getEndsAt());
+        assertEquals(SERIES.calculatePrice(), reservations.get(1).getPrice());
+        assertEquals(0, reservations.get(0).getId());
+    }
+}
@@ -0,0 +1,184 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.ReservationSeries;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.response.CourtAvailability;
+import com.klima.matej.tennis_reservations_system.response.FreeSlot;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityServiceImplTest {
+    private final AvailabilityService availabilityService = new AvailabilityServiceImpl();
+    private static final ReservationService reservationService = new ReservationServiceImpl();
+    private static final List<Reservation> RESERVATIONS = new ArrayList<>();
+    private static Surface SURFACE_1;
+    private static Surface SURFACE_2;
+    private static Court COURT_1;
+    private static Court COURT_2;
+    private static Court COURT_3;
+    private static Customer CUSTOMER;
+
+    @BeforeAll
+    public static void setUpCourtsAndReservations() {
+        SurfaceService surfaceService = new SurfaceServiceImpl();
+        CourtService courtService = new CourtServiceImpl();
+        CustomerService customerService = new CustomerServiceImpl();
+
+        SURFACE_1 = new Surface();
+        SURFACE_1.setName("Availability Test Surface 1");
+        SURFACE_1.setMinutePrice(1);
+        surfaceService.save(SURFACE_1);
+
+        SURFACE_2 = new Surface();
+        SURFACE_2.setName("Availability Test Surface 2");
+        SURFACE_2.setMinutePrice(1);
+        surfaceService.save(SURFACE_2);
+
+        COURT_1 = saveCourt(courtService, "Availability Test Court 1", SURFACE_1);
+        COURT_2 = saveCourt(courtService, "Availability Test Court 2", SURFACE_1);
+        COURT_3 = saveCourt(courtService, "Availability Test Court 3", SURFACE_2);
+
+        CUSTOMER = new Customer();
+        CUSTOMER.setName("Availability Test Customer");
+        CUSTOMER.setPhoneNumber("Availability Test Phone Number");
+        customerService.save(CUSTOMER);
+
+        saveReservation(COURT_1, "2030-01-01 09:00:00", "2030-01-01 11:00:00");
+        saveReservation(COURT_1, "2030-01-01 12:00:00", "2030-01-01 13:00:00");
+        saveReservation(COURT_1, "2030-01-01 12:30:00", "2030-01-01 14:00:00");
+        saveReservation(COURT_2, "2030-01-01 10:00:00", "2030-01-01 18:00:00");
+    }
+
+    @AfterAll
+    public static void tearDownCourtsAndReservations() {
+        for (Reservation reservation : RESERVATIONS) {
+            reservationService.deleteById(reservation.getId());
+        }
+        new CustomerServiceImpl().deleteById(CUSTOMER.getId());
+        CourtService courtService = new CourtServiceImpl();
+        courtService.deleteById(COURT_1.getId());
+        courtService.deleteById(COURT_2.getId());
+        courtService.deleteById(COURT_3.getId());
+        SurfaceService surfaceService = new SurfaceServiceImpl();
+        surfaceService.deleteById(SURFACE_1.getId());
+        surfaceService.deleteById(SURFACE_2.getId());
+    }
+
+    private static Court saveCourt(CourtService courtService, String name, Surface surface) {
+        Court court = new Court();
+        court.setName(name);
+        court.setSurface(surface);
+        courtService.save(court);
+        return court;
+    }
+
+    private static void saveReservation(Court court, String startsAt, String endsAt) {
+        Reservation reservation = new Reservation(false, CUSTOMER, court, Timestamp.valueOf(startsAt), Timestamp.valueOf(endsAt));
+        reservationService.save(reservation);
+        RESERVATIONS.add(reservation);
+    }
+
+    private static List<List<Timestamp>> slots(CourtAvailability availability) {
+        return availability.getFreeSlots().stream()
+                .map(slot -> List.of(slot.getStartsAt(), slot.getEndsAt()))
+                .toList();
+    }
+
+    @Test
+    public void testFindFreeSlotsBySurface() {
+        List<CourtAvailability> availability = availabilityService.findFreeSlots(
+                Timestamp.valueOf("2030-01-01 08:00:00"), Timestamp.valueOf("2030-01-01 20:00:00"), SURFACE_1.getId(), 0);
+
+        assertEquals(2, availability.size());
+        assertEquals(COURT_1, availability.get(0).getCourt());
+        assertEquals(List.of(
+                List.of(Timestamp.valueOf("2030-01-01 08:00:00"), Timestamp.valueOf("2030-01-01 09:00:00")),
+                List.of(Timestamp.valueOf("2030-01-01 11:00:00"), Timestamp.valueOf("2030-01-01 12:00:00")),
+                List.of(Timestamp.valueOf("2030-01-01 14:00:00"), Timestamp.valueOf("2030-01-01 20:00:00"))),
+                slots(availability.get(0)));
+        assertEquals(COURT_2, availability.get(1).getCourt());
+        assertEquals(List.of(
+                List.of(Timestamp.valueOf("2030-01-01 08:00:00"), Timestamp.valueOf("2030-01-01 10:00:00")),
+                List.of(Timestamp.valueOf("2030-01-01 18:00:00"), Timestamp.valueOf("2030-01-01 20:00:00"))),
+                slots(availability.get(1)));
+    }
+
+    @Test
+    public void testFindFreeSlotsWholeRange() {
+        List<CourtAvailability> availability = availabilityService.findFreeSlots(
+                Timestamp.valueOf("2030-01-01 15:00:00"), Timestamp.valueOf("2030-01-01 17:00:00"), null, 120);
+        List<Court> courts = availability.stream().map(CourtAvailability::getCourt).toList();
+
+        assertTrue(courts.contains(COURT_1));
+        assertFalse(courts.contains(COURT_2));
+        assertTrue(courts.contains(COURT_3));
+        for (CourtAvailability courtAvailability : availability) {
+            FreeSlot slot = courtAvailability.getFreeSlots().get(0);
+            assertEquals(Timestamp.valueOf("2030-01-01 15:00:00"), slot.getStartsAt());
+            assertEquals(Timestamp.valueOf("2030-01-01 17:00:00"), slot.getEndsAt());
+        }
+    }
+
+    @Test
+    public void testFindFreeSlotsMinMinutes() {
+        List<CourtAvailability> availability = availabilityService.findFreeSlots(
+                Timestamp.valueOf("2030-01-01 08:00:00"), Timestamp.valueOf("2030-01-01 20:00:00"), SURFACE_1.getId(), 90);
+
+        assertEquals(2, availability.size());
+        assertEquals(List.of(
+                List.of(Timestamp.valueOf("2030-01-01 14:00:00"), Timestamp.valueOf("2030-01-01 20:00:00"))),
+                slots(availability.get(0)));
+        assertEquals(List.of(
+                List.of(Timestamp.valueOf("2030-01-01 08:00:00"), Timestamp.valueOf("2030-01-01 10:00:00")),
+                List.of(Timestamp.valueOf("2030-01-01 18:00:00"), Timestamp.valueOf("2030-01-01 20:00:00"))),
+                slots(availability.get(1)));
+    }
+
+    @Test
+    public void testFindFreeSlotsFullyBooked() {
+        List<CourtAvailability> availability = availabilityService.findFreeSlots(
+                Timestamp.valueOf("2030-01-01 10:00:00"), Timestamp.valueOf("2030-01-01 11:00:00"), SURFACE_1.getId(), 0);
+
+        assertEquals(0, availability.size());
+    }
+
+    @Test
+    public void testFindFreeSlotsWithSeries() {
+        ReservationSeriesService reservationSeriesService = new ReservationSeriesServiceImpl();
+        ReservationSeries series = new ReservationSeries();
+        series.setCustomer(CUSTOMER);
+        series.setCourt(COURT_3);
+        series.setDayOfWeek(DayOfWeek.TUESDAY);
+        series.setStartTime(LocalTime.of(16, 0));
+        series.setEndTime(LocalTime.of(17, 0));
+        series.setStartsOn(LocalDate.of(2030, 1, 8));
+        series.setUntil(LocalDate.of(2030, 2, 26));
+        series.setPrice(series.calculatePrice());
+        reservationSeriesService.save(series);
+
+        List<CourtAvailability> availability = availabilityService.findFreeSlots(
+                Timestamp.valueOf("2030-01-15 15:00:00"), Timestamp.valueOf("2030-01-15 18:00:00"), SURFACE_2.getId(), 0);
+
+        assertEquals(1, availability.size());
+        assertEquals(List.of(
+                List.of(Timestamp.valueOf("2030-01-15 15:00:00"), Timestamp.valueOf("2030-01-15 16:00:00")),
+                List.of(Timestamp.valueOf("2030-01-15 17:00:00"), Timestamp.valueOf("2030-01-15 18:00:00"))),
+                slots(availability.get(0)));
+
+        reservationSeriesService.deleteById(series.getId());
+    }
+}
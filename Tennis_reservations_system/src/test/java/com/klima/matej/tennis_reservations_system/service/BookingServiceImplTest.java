@@ -0,0 +1,262 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.ReservationSeries;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.params.ReservationCreateParams;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingServiceImplTest {
+    private static final LocalDate DAY = LocalDate.of(2028, 3, 1);
+
+    private final BookingService bookingService = new BookingServiceImpl();
+    private final ReservationService reservationService = new ReservationServiceImpl();
+    private final CustomerService customerService = new CustomerServiceImpl();
+    private static Surface SURFACE;
+    private static Court COURT;
+
+    @BeforeAll
+    public static void setUpCourt() {
+        SURFACE = new Surface();
+        SURFACE.setName("Booking Test Surface");
+        SURFACE.setMinutePrice(2);
+        new SurfaceServiceImpl().save(SURFACE);
+
+        COURT = new Court();
+        COURT.setName("Booking Test Court");
+        COURT.setSurface(SURFACE);
+        new CourtServiceImpl().save(COURT);
+    }
+
+    @AfterAll
+    public static void tearDownCourt() {
+        new CourtServiceImpl().deleteById(COURT.getId());
+        new SurfaceServiceImpl().deleteById(SURFACE.getId());
+    }
+
+    private static ReservationCreateParams params(long courtId, String phoneNumber, String startsAt, String endsAt) {
+        return ReservationCreateParams.builder()
+                .courtId(courtId)
+                .customerPhoneNumber(phoneNumber)
+                .customerName("Booking Test Customer")
+                .isDoubles(false)
+                .startsAt(Timestamp.valueOf(startsAt))
+                .endsAt(Timestamp.valueOf(endsAt))
+                .build();
+    }
+
+    private void delete(Reservation reservation) {
+        reservationService.deleteById(reservation.getId());
+        customerService.deleteById(reservation.getCustomer().getId());
+    }
+
+    @Test
+    public void testBookCreatesCustomerAndReservationInOneTransaction() {
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        long connections = statistics.getConnectCount();
+        long transactions = statistics.getTransactionCount();
+
+        BookingResult result = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 1",
+                "2028-03-01 10:00:00", "2028-03-01 11:00:00"));
+
+        assertEquals(1, statistics.getConnectCount() - connections);
+        assertEquals(1, statistics.getTransactionCount() - transactions);
+        assertEquals(BookingResult.Status.CREATED, result.getStatus());
+        Reservation reservation = result.getReservation();
+        assertEquals(120, reservation.getPrice());
+
+        Reservation found = reservationService.findById(reservation.getId());
+        assertEquals(COURT.getId(), found.getCourt().getId());
+        Customer customer = customerService.findByPhoneNumber("Booking Test Phone Number 1");
+        assertEquals(customer.getId(), found.getCustomer().getId());
+        assertEquals("Booking Test Customer", customer.getName());
+        assertEquals(1, new CourtStatsServiceImpl().findDaily(DAY, DAY, COURT.getId(), null).get(0).getBookings());
+
+        delete(reservation);
+    }
+
+    @Test
+    public void testBookReusesExistingCustomer() {
+        Reservation first = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 2",
+                "2028-03-01 12:00:00", "2028-03-01 13:00:00")).getReservation();
+        Reservation second = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 2",
+                "2028-03-01 13:00:00", "2028-03-01 14:00:00")).getReservation();
+
+        assertEquals(first.getCustomer().getId(), second.getCustomer().getId());
+
+        reservationService.deleteById(first.getId());
+        delete(second);
+    }
+
+    @Test
+    public void testBookOverlappingSavesNothing() {
+        Reservation existing = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 3",
+                "2028-03-01 15:00:00", "2028-03-01 16:00:00")).getReservation();
+
+        BookingResult result = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 4",
+                "2028-03-01 15:30:00", "2028-03-01 16:30:00"));
+
+        assertEquals(BookingResult.Status.OVERLAPPING, result.getStatus());
+        assertNull(result.getReservation());
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 4"));
+
+        delete(existing);
+    }
+
+    @Test
+    public void testBookCourtNotFound() {
+        BookingResult result = bookingService.book(params(-1, "Booking Test Phone Number 5",
+                "2028-03-01 10:00:00", "2028-03-01 11:00:00"));
+
+        assertEquals(BookingResult.Status.COURT_NOT_FOUND, result.getStatus());
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 5"));
+    }
+
+    @Test
+    public void testUpdateExcludesItselfFromOverlap() {
+        LocalDate day = LocalDate.of(2028, 3, 3);
+        Reservation reservation = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 14",
+                "2028-03-03 10:00:00", "2028-03-03 11:00:00")).getReservation();
+        Reservation other = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 14",
+                "2028-03-03 12:00:00", "2028-03-03 13:00:00")).getReservation();
+
+        reservation.setStartsAt(Timestamp.valueOf("2028-03-03 10:30:00"));
+        reservation.setEndsAt(Timestamp.valueOf("2028-03-03 11:30:00"));
+        assertEquals(BookingResult.Status.CREATED, bookingService.update(reservation).getStatus());
+
+        reservation.setStartsAt(Timestamp.valueOf("2028-03-03 12:30:00"));
+        reservation.setEndsAt(Timestamp.valueOf("2028-03-03 13:30:00"));
+        assertEquals(BookingResult.Status.OVERLAPPING, bookingService.update(reservation).getStatus());
+
+        assertEquals(Timestamp.valueOf("2028-03-03 10:30:00"), reservationService.findById(reservation.getId()).getStartsAt());
+        assertEquals(2, new CourtStatsServiceImpl().findDaily(day, day, COURT.getId(), null).get(0).getBookings());
+
+        reservationService.deleteById(reservation.getId());
+        delete(other);
+    }
+
+    @Test
+    public void testUpdateOverlappingSeries() {
+        ReservationSeriesService reservationSeriesService = new ReservationSeriesServiceImpl();
+        Reservation reservation = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 15",
+                "2028-03-03 15:00:00", "2028-03-03 16:00:00")).getReservation();
+        ReservationSeries series = new ReservationSeries();
+        series.setCustomer(reservation.getCustomer());
+        series.setCourt(COURT);
+        series.setDayOfWeek(DayOfWeek.FRIDAY);
+        series.setStartTime(LocalTime.of(18, 0));
+        series.setEndTime(LocalTime.of(19, 0));
+        series.setStartsOn(LocalDate.of(2028, 3, 3));
+        series.setUntil(LocalDate.of(2028, 3, 10));
+        series.setPrice(series.calculatePrice());
+        reservationSeriesService.save(series);
+
+        reservation.setStartsAt(Timestamp.valueOf("2028-03-03 18:30:00"));
+        reservation.setEndsAt(Timestamp.valueOf("2028-03-03 19:30:00"));
+        assertEquals(BookingResult.Status.OVERLAPPING, bookingService.update(reservation).getStatus());
+
+        reservationSeriesService.deleteById(series.getId());
+        delete(reservation);
+    }
+
+    @Test
+    public void testUpdateReservationNotFound() {
+        Reservation reservation = new Reservation(false, null, COURT,
+                Timestamp.valueOf("2028-03-03 10:00:00"), Timestamp.valueOf("2028-03-03 11:00:00"));
+
+        assertEquals(BookingResult.Status.RESERVATION_NOT_FOUND, bookingService.update(reservation).getStatus());
+    }
+
+    @Test
+    public void testBookAllCreatesCustomersAndReservationsInOneTransaction() {
+        LocalDate day = LocalDate.of(2028, 3, 2);
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        long connections = statistics.getConnectCount();
+        long transactions = statistics.getTransactionCount();
+
+        BatchBookingResult result = bookingService.bookAll(List.of(
+                params(COURT.getId(), "Booking Test Phone Number 6", "2028-03-02 10:00:00", "2028-03-02 11:00:00"),
+                params(COURT.getId(), "Booking Test Phone Number 7", "2028-03-02 11:00:00", "2028-03-02 12:00:00"),
+                params(COURT.getId(), "Booking Test Phone Number 6", "2028-03-02 12:00:00", "2028-03-02 12:30:00")));
+
+        assertEquals(1, statistics.getConnectCount() - connections);
+        assertEquals(1, statistics.getTransactionCount() - transactions);
+        assertEquals(BookingResult.Status.CREATED, result.getStatus());
+        List<Reservation> reservations = result.getReservations();
+        assertEquals(3, reservations.size());
+        assertEquals(List.of(120.0, 120.0, 60.0), reservations.stream().map(Reservation::getPrice).toList());
+        assertEquals(reservations.get(0).getCustomer().getId(), reservations.get(2).getCustomer().getId());
+        assertNotEquals(reservations.get(0).getCustomer().getId(), reservations.get(1).getCustomer().getId());
+        assertEquals(3, reservationService.findAllByPhoneNumber("Booking Test Phone Number 6").size()
+                + reservationService.findAllByPhoneNumber("Booking Test Phone Number 7").size());
+        assertEquals(3, new CourtStatsServiceImpl().findDaily(day, day, COURT.getId(), null).get(0).getBookings());
+
+        reservationService.deleteById(reservations.get(0).getId());
+        delete(reservations.get(1));
+        delete(reservations.get(2));
+    }
+
+    @Test
+    public void testBookAllOverlappingSavesNothing() {
+        Reservation existing = bookingService.book(params(COURT.getId(), "Booking Test Phone Number 8",
+                "2028-03-02 15:00:00", "2028-03-02 16:00:00")).getReservation();
+
+        BatchBookingResult result = bookingService.bookAll(List.of(
+                params(COURT.getId(), "Booking Test Phone Number 9", "2028-03-02 13:00:00", "2028-03-02 14:00:00"),
+                params(COURT.getId(), "Booking Test Phone Number 10", "2028-03-02 15:30:00", "2028-03-02 16:30:00")));
+
+        assertEquals(BookingResult.Status.OVERLAPPING, result.getStatus());
+        assertEquals(1, result.getIndex());
+        assertNull(result.getReservations());
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 9"));
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 10"));
+
+        delete(existing);
+    }
+
+    @Test
+    public void testBookAllCourtNotFound() {
+        BatchBookingResult result = bookingService.bookAll(List.of(
+                params(COURT.getId(), "Booking Test Phone Number 11", "2028-03-02 10:00:00", "2028-03-02 11:00:00"),
+                params(-1, "Booking Test Phone Number 11", "2028-03-02 10:00:00", "2028-03-02 11:00:00")));
+
+        assertEquals(BookingResult.Status.COURT_NOT_FOUND, result.getStatus());
+        assertEquals(1, result.getIndex());
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 11"));
+    }
+
+    @Test
+    public void testBookAllFailedSavesNoCustomer() {
+        ReservationCreateParams tooLongName = ReservationCreateParams.builder()
+                .courtId(COURT.getId())
+                .customerPhoneNumber("Booking Test Phone Number 13")
+                .customerName("x".repeat(256))
+                .isDoubles(false)
+                .startsAt(Timestamp.valueOf("2028-03-02 18:00:00"))
+                .endsAt(Timestamp.valueOf("2028-03-02 19:00:00"))
+                .build();
+
+        BatchBookingResult result = bookingService.bookAll(List.of(
+                params(COURT.getId(), "Booking Test Phone Number 12", "2028-03-02 17:00:00", "2028-03-02 18:00:00"),
+                tooLongName));
+
+        assertEquals(BookingResult.Status.FAILED, result.getStatus());
+        assertNull(result.getReservations());
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 12"));
+        assertNull(customerService.findByPhoneNumber("Booking Test Phone Number 13"));
+    }
+}
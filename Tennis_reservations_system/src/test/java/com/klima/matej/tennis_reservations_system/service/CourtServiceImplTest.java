@@ -2,11 +2,16 @@ package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Court;
 import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
 
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CourtServiceImplTest {
@@ -77,6 +82,22 @@ class CourtServiceImplTest {
         courtService.deleteById(court2.getId());
     }
 
+    @Test
+    public void testFindPageCourt() {
+        Court court1 = saveCourt("Test Court 12");
+        Court court2 = saveCourt("Test Court 13");
+        Court court3 = saveCourt("Test Court 14");
+
+        assertEquals(List.of(court1, court2), courtService.findPage(0, 2));
+        assertEquals(List.of(court3), courtService.findPage(court2.getId(), 2));
+        assertEquals(List.of(), courtService.findPage(court3.getId(), 2));
+        assertEquals(List.of(), courtService.findPage(0, 0));
+
+        courtService.deleteById(court1.getId());
+        courtService.deleteById(court2.getId());
+        courtService.deleteById(court3.getId());
+    }
+
     @Test
     public void testFindByIdCourt() {
         Court court = saveCourt("Test Court 5");
@@ -86,6 +107,17 @@ class CourtServiceImplTest {
         courtService.deleteById(court.getId());
     }
 
+    @Test
+    public void testFindByIdCourtWithoutReservations() {
+        Court court = saveCourt("Test Court 10");
+        Court foundCourt = courtService.findById(court.getId());
+
+        assertEquals(SURFACE, foundCourt.getSurface());
+        assertFalse(Hibernate.isInitialized(foundCourt.getReservations()));
+
+        courtService.deleteById(court.getId());
+    }
+
     @Test
     public void testFindByIdCourtNotFound() {
         Court foundCourt = courtService.findById(-1);
@@ -113,4 +145,19 @@ class CourtServiceImplTest {
 
         courtService.deleteById(court.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCourtCachedUntilDeleted() {
+        Court court = saveCourt("Test Court 9");
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+
+        Court foundCourt = courtService.findById(court.getId());
+        assertEquals(court, foundCourt);
+        assertEquals(SURFACE.getMinutePrice(), foundCourt.getSurface().getMinutePrice());
+        assertTrue(cache.containsEntity(Court.class, court.getId()));
+        assertTrue(cache.containsEntity(Surface.class, SURFACE.getId()));
+
+        courtService.deleteById(court.getId());
+        assertNull(courtService.findById(court.getId()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.CourtDailyStats;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.response.CourtStats;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourtStatsServiceImplTest {
+    private static final LocalDate DAY_1 = LocalDate.of(2027, 6, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2027, 6, 2);
+
+    private final CourtStatsService courtStatsService = new CourtStatsServiceImpl();
+    private final ReservationService reservationService = new ReservationServiceImpl();
+    private static Customer CUSTOMER;
+    private static Surface SURFACE;
+    private static Court COURT_1;
+    private static Court COURT_2;
+
+    @BeforeAll
+    public static void setUpCustomerAndCourts() {
+        CustomerService customerService = new CustomerServiceImpl();
+        CourtService courtService = new CourtServiceImpl();
+        SurfaceService surfaceService = new SurfaceServiceImpl();
+
+        CUSTOMER = new Customer();
+        CUSTOMER.setName("Stats Test Customer");
+        CUSTOMER.setPhoneNumber("Stats Test Phone Number");
+        customerService.save(CUSTOMER);
+
+        SURFACE = new Surface();
+        SURFACE.setName("Stats Test Surface");
+        SURFACE.setMinutePrice(2);
+        surfaceService.save(SURFACE);
+
+        COURT_1 = new Court();
+        COURT_1.setName("Stats Test Court 1");
+        COURT_1.setSurface(SURFACE);
+        courtService.save(COURT_1);
+
+        COURT_2 = new Court();
+        COURT_2.setName("Stats Test Court 2");
+        COURT_2.setSurface(SURFACE);
+        courtService.save(COURT_2);
+    }
+
+    @AfterAll
+    public static void tearDownCustomerAndCourts() {
+        new CustomerServiceImpl().deleteById(CUSTOMER.getId());
+        CourtService courtService = new CourtServiceImpl();
+        courtService.deleteById(COURT_1.getId());
+        courtService.deleteById(COURT_2.getId());
+        new SurfaceServiceImpl().deleteById(SURFACE.getId());
+    }
+
+    private static Reservation reservation(Court court, String startsAt, String endsAt) {
+        return new Reservation(false, CUSTOMER, court, Timestamp.valueOf(startsAt), Timestamp.valueOf(endsAt));
+    }
+
+    private List<CourtDailyStats> daily() {
+        return courtStatsService.findDaily(DAY_1, DAY_2, null, SURFACE.getId());
+    }
+
+    @Test
+    public void testStatsFollowSaveUpdateAndDelete() {
+        Reservation reservation1 = reservation(COURT_1, "2027-06-01 10:00:00", "2027-06-01 11:00:00");
+        Reservation reservation2 = reservation(COURT_1, "2027-06-01 12:00:00", "2027-06-01 12:30:00");
+        reservationService.save(reservation1);
+        reservationService.save(reservation2);
+
+        List<CourtDailyStats> stats = daily();
+        assertEquals(1, stats.size());
+        assertEquals(COURT_1.getId(), stats.get(0).getCourtId());
+        assertEquals(DAY_1, stats.get(0).getDay());
+        assertEquals(90, stats.get(0).getBookedMinutes());
+        assertEquals(180, stats.get(0).getRevenue());
+        assertEquals(2, stats.get(0).getBookings());
+
+        reservation2.setCourt(COURT_2);
+        reservation2.setStartsAt(Timestamp.valueOf("2027-06-02 12:00:00"));
+        reservation2.setEndsAt(Timestamp.valueOf("2027-06-02 14:00:00"));
+        reservation2.setPrice(reservation2.calculatePrice());
+        reservationService.update(reservation2);
+
+        stats = daily();
+        assertEquals(2, stats.size());
+        assertEquals(60, stats.get(0).getBookedMinutes());
+        assertEquals(1, stats.get(0).getBookings());
+        assertEquals(COURT_2.getId(), stats.get(1).getCourtId());
+        assertEquals(DAY_2, stats.get(1).getDay());
+        assertEquals(120, stats.get(1).getBookedMinutes());
+        assertEquals(240, stats.get(1).getRevenue());
+
+        reservationService.deleteById(reservation1.getId());
+        reservationService.deleteById(reservation2.getId());
+
+        assertEquals(0, daily().size());
+    }
+
+    @Test
+    public void testStatsFollowSaveAll() {
+        List<Reservation> saved = reservationService.saveAll(List.of(
+                reservation(COURT_1, "2027-06-01 08:00:00", "2027-06-01 09:00:00"),
+                reservation(COURT_1, "2027-06-01 09:00:00", "2027-06-01 10:00:00"),
+                reservation(COURT_2, "2027-06-02 08:00:00", "2027-06-02 08:30:00")));
+
+        List<CourtStats> totals = courtStatsService.findTotals(DAY_1, DAY_2, SURFACE.getId());
+        assertEquals(2, totals.size());
+        assertEquals(COURT_1.getId(), totals.get(0).getCourtId());
+        assertEquals(120, totals.get(0).getBookedMinutes());
+        assertEquals(240, totals.get(0).getRevenue());
+        assertEquals(2, totals.get(0).getBookings());
+        assertEquals(COURT_2.getId(), totals.get(1).getCourtId());
+        assertEquals(1, totals.get(1).getBookings());
+
+        assertEquals(1, courtStatsService.findDaily(DAY_1, DAY_2, COURT_2.getId(), null).size());
+        assertEquals(0, courtStatsService.findTotals(DAY_2.plusDays(1), DAY_2.plusDays(7), SURFACE.getId()).size());
+
+        saved.forEach(reservation -> reservationService.deleteById(reservation.getId()));
+
+        assertEquals(0, courtStatsService.findTotals(DAY_1, DAY_2, SURFACE.getId()).size());
+    }
+
+    @Test
+    public void testFailedSaveDoesNotChangeStats() {
+        Reservation reservation = reservation(COURT_1, "2027-06-01 10:00:00", "2027-06-01 11:00:00");
+        reservation.setCustomer(null);
+
+        assertNull(reservationService.save(reservation));
+        assertEquals(0, daily().size());
+    }
+}
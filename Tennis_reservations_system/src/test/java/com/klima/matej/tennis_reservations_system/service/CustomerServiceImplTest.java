@@ -1,8 +1,21 @@
 package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CustomerServiceImplTest {
@@ -132,4 +145,123 @@ class CustomerServiceImplTest {
 
         customerService.deleteById(customer.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindByPhoneNumberWithoutReservations() {
+        Customer customer = saveCustomer("012", "Test Customer");
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        Customer foundCustomer = customerService.findByPhoneNumberWithoutReservations("012");
+
+        assertEquals(customer, foundCustomer);
+        assertFalse(Hibernate.isInitialized(foundCustomer.getReservations()));
+        assertEquals(statements + 1, statistics.getPrepareStatementCount());
+
+        customerService.deleteById(customer.getId());
+    }
+
+    @Test
+    public void testFindByPhoneNumberWithoutReservationsNotFound() {
+        assertNull(customerService.findByPhoneNumberWithoutReservations("0"));
+    }
+
+    @Test
+    public void testFindByPhoneNumberWithoutReservationsAfterUpdateAndDelete() {
+        Customer customer = saveCustomer("013", "Test Customer");
+        assertNotNull(customerService.findByPhoneNumberWithoutReservations("013"));
+
+        customer.setPhoneNumber("014");
+        customerService.update(customer);
+        assertNull(customerService.findByPhoneNumberWithoutReservations("013"));
+        assertEquals(customer.getId(), customerService.findByPhoneNumberWithoutReservations("014").getId());
+
+        customerService.deleteById(customer.getId());
+        assertNull(customerService.findByPhoneNumberWithoutReservations("014"));
+    }
+
+    @Test
+    public void testFindOrCreateCreatesCustomer() {
+        Customer customer = customerService.findOrCreate("017", "Test Customer");
+
+        assertNotEquals(0, customer.getId());
+        assertEquals("Test Customer", customer.getName());
+        assertEquals(customer, customerService.findByPhoneNumber("017"));
+
+        customerService.deleteById(customer.getId());
+    }
+
+    @Test
+    public void testFindOrCreateFindsExistingCustomer() {
+        Customer customer = saveCustomer("018", "Test Customer");
+
+        Customer found = customerService.findOrCreate("018", "Test Customer 2");
+
+        assertEquals(customer.getId(), found.getId());
+        assertEquals("Test Customer", found.getName());
+
+        customerService.deleteById(customer.getId());
+    }
+
+    @Test
+    public void testFindOrCreateRestoresDeletedCustomer() {
+        Customer customer = saveCustomer("019", "Test Customer");
+        customerService.deleteById(customer.getId());
+
+        Customer restored = customerService.findOrCreate("019", "Test Customer 2");
+
+        assertEquals(customer.getId(), restored.getId());
+        assertEquals("Test Customer 2", restored.getName());
+
+        customerService.deleteById(customer.getId());
+    }
+
+    @Test
+    public void testFindOrCreateConcurrently() throws Exception {
+        int clients = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Customer>> customers = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                String name = "Test Customer " + i;
+                customers.add(executor.submit(() -> {
+                    start.await();
+                    return new CustomerServiceImpl().findOrCreate("020", name);
+                }));
+            }
+            start.countDown();
+
+            long id = customers.get(0).get().getId();
+            for (Future<Customer> customer : customers) {
+                assertEquals(id, customer.get().getId());
+            }
+            customerService.deleteById(id);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFindOrCreateWaitsForCustomerCreatedElsewhere() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // Another instance of the application creates the customer in a transaction which is not committed yet
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeMutationQuery("INSERT INTO customer (phoneNumber, name, deleted) VALUES ('021', 'Other Instance', false)")
+                    .executeUpdate();
+            long id = session.createQuery("SELECT c.id FROM Customer c WHERE c.phoneNumber = '021'", Long.class).getSingleResult();
+
+            Future<Customer> customer = executor.submit(() -> customerService.findOrCreate("021", "Test Customer"));
+            Thread.sleep(200);
+            assertFalse(customer.isDone());
+            transaction.commit();
+
+            assertEquals(id, customer.get(10, TimeUnit.SECONDS).getId());
+            assertEquals("Other Instance", customer.get().getName());
+            customerService.deleteById(id);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingServiceImplTest {
+    private final RecordingService recordingService = new RecordingServiceImpl();
+
+    private final CustomerService customerService = new CustomerServiceImpl();
+
+    @AfterEach
+    public void tearDown() {
+        recordingService.stop();
+    }
+
+    @Test
+    public void testRecordsEventsOfHotPaths() throws IOException {
+        assertTrue(recordingService.start(Duration.ofMinutes(1), 10L * 1024 * 1024));
+        assertFalse(recordingService.start(Duration.ofMinutes(1), 10L * 1024 * 1024));
+
+        assertNull(customerService.findByPhoneNumberWithoutReservations("Recording-Unknown"));
+        assertFalse(new ReservationServiceImpl().existsOverlapping(-1,
+                Timestamp.valueOf("2030-01-01 10:00:00"), Timestamp.valueOf("2030-01-01 11:00:00")));
+
+        assertTrue(recordingService.stop());
+        assertFalse(recordingService.stop());
+
+        Path file = Files.createTempFile("recording", ".jfr");
+        try (InputStream data = recordingService.openStream()) {
+            assertNotNull(data);
+            Files.copy(data, file, StandardCopyOption.REPLACE_EXISTING);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent lookup = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("tennis.CustomerLookup"))
+                    .findFirst()
+                    .orElseThrow();
+            assertFalse(lookup.getBoolean("found"));
+            RecordedEvent overlapQuery = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("tennis.OverlapQuery"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(-1, overlapQuery.getLong("courtId"));
+            assertFalse(overlapQuery.getBoolean("overlapping"));
+            assertFalse(overlapQuery.hasField("reservations"));
+            assertTrue(events.stream()
+                    .filter(event -> event.getEventType().getName().equals("tennis.HibernateSession"))
+                    .anyMatch(event -> event.getInt("statements") > 0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testOpenStreamWithoutRecording() throws IOException {
+        assertNull(recordingService.openStream());
+        assertFalse(recordingService.stop());
+    }
+
+    @Test
+    public void testStartRejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> recordingService.start(Duration.ZERO, 1024));
+        assertThrows(IllegalArgumentException.class, () -> recordingService.start(Duration.ofHours(2), 1024));
+        assertThrows(IllegalArgumentException.class, () -> recordingService.start(Duration.ofMinutes(1), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> recordingService.start(Duration.ofMinutes(1), RecordingService.MAX_SIZE + 1));
+    }
+}
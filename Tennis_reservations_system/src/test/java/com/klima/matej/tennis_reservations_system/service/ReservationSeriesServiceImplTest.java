@@ -0,0 +1,175 @@
+package com.klima.matej.tennis_reservations_system.service;
+
+import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.Customer;
+import com.klima.matej.tennis_reservations_system.entity.Reservation;
+import com.klima.matej.tennis_reservations_system.entity.ReservationSeries;
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationSeriesServiceImplTest {
+    private final ReservationSeriesService reservationSeriesService = new ReservationSeriesServiceImpl();
+    private final ReservationService reservationService = new ReservationServiceImpl();
+    private static Customer CUSTOMER;
+    private static Court COURT_1;
+    private static Court COURT_2;
+
+    @BeforeAll
+    public static void setUpCustomerAndCourts() {
+        CustomerService customerService = new CustomerServiceImpl();
+        CourtService courtService = new CourtServiceImpl();
+        SurfaceService surfaceService = new SurfaceServiceImpl();
+
+        Customer customer = new Customer();
+        customer.setName("Series Test Customer");
+        customer.setPhoneNumber("Series Test Phone Number");
+        customerService.save(customer);
+
+        Surface surface = new Surface();
+        surface.setName("Series Test Surface");
+        surface.setMinutePrice(1);
+        surfaceService.save(surface);
+
+        Court court1 = new Court();
+        court1.setName("Series Test Court 1");
+        court1.setSurface(surface);
+        courtService.save(court1);
+
+        Court court2 = new Court();
+        court2.setName("Series Test Court 2");
+        court2.setSurface(surface);
+        courtService.save(court2);
+
+        CUSTOMER = customer;
+        COURT_1 = court1;
+        COURT_2 = court2;
+    }
+
+    @AfterAll
+    public static void tearDownCustomerAndCourts() {
+        new CustomerServiceImpl().deleteById(CUSTOMER.getId());
+        CourtService courtService = new CourtServiceImpl();
+        courtService.deleteById(COURT_1.getId());
+        courtService.deleteById(COURT_2.getId());
+        new SurfaceServiceImpl().deleteById(COURT_1.getSurface().getId());
+    }
+
+    /**
+     * Saves series on Mondays of March 2025.
+     */
+    private ReservationSeries saveSeries(Court court, LocalTime startTime, LocalTime endTime) {
+        ReservationSeries series = new ReservationSeries();
+        series.setCustomer(CUSTOMER);
+        series.setCourt(court);
+        series.setDayOfWeek(DayOfWeek.MONDAY);
+        series.setStartTime(startTime);
+        series.setEndTime(endTime);
+        series.setStartsOn(LocalDate.of(2025, 3, 1));
+        series.setUntil(LocalDate.of(2025, 3, 31));
+        series.setPrice(series.calculatePrice());
+        reservationSeriesService.save(series);
+        return series;
+    }
+
+    @Test
+    public void testSaveSeries() {
+        ReservationSeries series = saveSeries(COURT_1, LocalTime.of(18, 0), LocalTime.of(19, 0));
+
+        ReservationSeries found = reservationSeriesService.findById(series.getId());
+        assertNotNull(found);
+        assertEquals(DayOfWeek.MONDAY, found.getDayOfWeek());
+        assertEquals(LocalTime.of(18, 0), found.getStartTime());
+        assertEquals(LocalDate.of(2025, 3, 31), found.getUntil());
+        assertEquals(60, found.getPrice());
+        assertEquals(5, found.countOccurrences());
+
+        reservationSeriesService.deleteById(series.getId());
+    }
+
+    @Test
+    public void testFindActive() {
+        ReservationSeries series1 = saveSeries(COURT_1, LocalTime.of(18, 0), LocalTime.of(19, 0));
+        ReservationSeries series2 = saveSeries(COURT_2, LocalTime.of(18, 0), LocalTime.of(19, 0));
+
+        assertEquals(1, reservationSeriesService.findActive(List.of(COURT_1.getId()),
+                Timestamp.valueOf("2025-03-31 20:00:00"), Timestamp.valueOf("2025-04-07 20:00:00")).size());
+        assertEquals(2, reservationSeriesService.findActive(List.of(COURT_1.getId(), COURT_2.getId()),
+                Timestamp.valueOf("2025-02-20 00:00:00"), Timestamp.valueOf("2025-03-01 00:00:00")).size());
+        assertEquals(0, reservationSeriesService.findActive(List.of(COURT_1.getId(), COURT_2.getId()),
+                Timestamp.valueOf("2025-04-01 00:00:00"), Timestamp.valueOf("2025-05-01 00:00:00")).size());
+        assertEquals(0, reservationSeriesService.findActive(List.of(),
+                Timestamp.valueOf("2025-03-01 00:00:00"), Timestamp.valueOf("2025-04-01 00:00:00")).size());
+
+        reservationSeriesService.deleteById(series1.getId());
+        reservationSeriesService.deleteById(series2.getId());
+    }
+
+    @Test
+    public void testFindOccurrences() {
+        ReservationSeries series1 = saveSeries(COURT_1, LocalTime.of(18, 0), LocalTime.of(19, 0));
+        ReservationSeries series2 = saveSeries(COURT_1, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        ReservationSeries series3 = saveSeries(COURT_2, LocalTime.of(8, 0), LocalTime.of(9, 0));
+
+        List<Reservation> occurrences = reservationSeriesService.findOccurrences(COURT_1.getId(),
+                Timestamp.valueOf("2025-03-03 12:00:00"), Timestamp.valueOf("2025-03-11 00:00:00"));
+
+        assertEquals(List.of(Timestamp.valueOf("2025-03-03 18:00:00"), Timestamp.valueOf("2025-03-10 08:00:00"),
+                        Timestamp.valueOf("2025-03-10 18:00:00")),
+                occurrences.stream().map(Reservation::getStartsAt).toList());
+        assertEquals(COURT_1, occurrences.get(0).getCourt());
+        assertEquals(CUSTOMER.getPhoneNumber(), occurrences.get(0).getCustomer().getPhoneNumber());
+
+        reservationSeriesService.deleteById(series1.getId());
+        reservationSeriesService.deleteById(series2.getId());
+        reservationSeriesService.deleteById(series3.getId());
+    }
+
+    @Test
+    public void testExistsOverlappingWithSeries() {
+        ReservationSeries series = saveSeries(COURT_1, LocalTime.of(18, 0), LocalTime.of(19, 0));
+
+        assertTrue(reservationService.existsOverlapping(COURT_1.getId(),
+                Timestamp.valueOf("2025-03-17 18:30:00"), Timestamp.valueOf("2025-03-17 20:00:00")));
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(),
+                Timestamp.valueOf("2025-03-17 19:00:00"), Timestamp.valueOf("2025-03-17 20:00:00")));
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(),
+                Timestamp.valueOf("2025-03-18 18:00:00"), Timestamp.valueOf("2025-03-18 19:00:00")));
+        assertFalse(reservationService.existsOverlapping(COURT_2.getId(),
+                Timestamp.valueOf("2025-03-17 18:00:00"), Timestamp.valueOf("2025-03-17 19:00:00")));
+
+        reservationSeriesService.deleteById(series.getId());
+
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(),
+                Timestamp.valueOf("2025-03-17 18:30:00"), Timestamp.valueOf("2025-03-17 20:00:00")));
+    }
+
+    @Test
+    public void testFindTimelinesWithSeries() {
+        ReservationSeries series = saveSeries(COURT_1, LocalTime.of(18, 0), LocalTime.of(19, 0));
+        Reservation reservation = new Reservation(false, CUSTOMER, COURT_1,
+                Timestamp.valueOf("2025-03-10 17:00:00"), Timestamp.valueOf("2025-03-10 18:00:00"));
+        reservationService.save(reservation);
+
+        CourtTimeline timeline = reservationService.findTimelines(List.of(COURT_1.getId()),
+                Timestamp.valueOf("2025-03-01 00:00:00"), Timestamp.valueOf("2025-04-01 00:00:00")).get(COURT_1.getId());
+
+        assertEquals(5, timeline.size());
+        assertFalse(timeline.isFree(Timestamp.valueOf("2025-03-10 17:30:00").getTime(), Timestamp.valueOf("2025-03-10 18:30:00").getTime()));
+        assertFalse(timeline.isFree(Timestamp.valueOf("2025-03-24 18:30:00").getTime(), Timestamp.valueOf("2025-03-24 19:30:00").getTime()));
+        assertTrue(timeline.isFree(Timestamp.valueOf("2025-03-24 19:00:00").getTime(), Timestamp.valueOf("2025-03-24 20:00:00").getTime()));
+
+        reservationService.deleteById(reservation.getId());
+        reservationSeriesService.deleteById(series.getId());
+    }
+}
@@ -1,14 +1,23 @@
 package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Court;
+import com.klima.matej.tennis_reservations_system.entity.CourtDailyStats;
 import com.klima.matej.tennis_reservations_system.entity.Customer;
 import com.klima.matej.tennis_reservations_system.entity.Reservation;
 import com.klima.matej.tennis_reservations_system.entity.Surface;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.AfterAll;
+import com.klima.matej.tennis_reservations_system.util.CourtTimeline;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -182,6 +191,36 @@ class ReservationServiceImplTest {
         reservationService.deleteById(reservation3.getId());
     }
 
+    @Test
+    public void testFindAllByCourtIdSortedAndInRange() {
+        Reservation reservation1 = saveReservation(false, CUSTOMER_1, COURT_1);
+        Reservation reservation2 = saveReservation(true, CUSTOMER_2, COURT_1);
+        Reservation reservation3 = saveReservation(false, CUSTOMER_1, COURT_1);
+        reservation1.setCreatedAt(Timestamp.valueOf("2023-01-03 00:00:00"));
+        reservation2.setCreatedAt(Timestamp.valueOf("2023-01-01 00:00:00"));
+        reservation3.setCreatedAt(Timestamp.valueOf("2023-01-02 00:00:00"));
+        reservationService.update(reservation1);
+        reservationService.update(reservation2);
+        reservationService.update(reservation3);
+
+        assertEquals(List.of(reservation2.getId(), reservation3.getId(), reservation1.getId()),
+                reservationService.findAllByCourtId(COURT_1.getId()).stream().map(Reservation::getId).toList());
+        assertEquals(List.of(reservation3.getId(), reservation1.getId()),
+                reservationService.findAllByCourtId(COURT_1.getId(), Timestamp.valueOf("2023-01-02 00:00:00"), null)
+                        .stream().map(Reservation::getId).toList());
+        assertEquals(List.of(reservation2.getId(), reservation3.getId()),
+                reservationService.findAllByCourtId(COURT_1.getId(), null, Timestamp.valueOf("2023-01-03 00:00:00"))
+                        .stream().map(Reservation::getId).toList());
+        assertEquals(List.of(reservation3.getId()),
+                reservationService.findAllByCourtId(COURT_1.getId(),
+                                Timestamp.valueOf("2023-01-02 00:00:00"), Timestamp.valueOf("2023-01-03 00:00:00"))
+                        .stream().map(Reservation::getId).toList());
+
+        reservationService.deleteById(reservation1.getId());
+        reservationService.deleteById(reservation2.getId());
+        reservationService.deleteById(reservation3.getId());
+    }
+
     @Test
     public void testFindAllByPhoneNumber() {
         Reservation reservation1 = saveReservation(false, CUSTOMER_1, COURT_1);
@@ -211,6 +250,31 @@ class ReservationServiceImplTest {
         reservationService.deleteById(reservation3.getId());
     }
 
+    @Test
+    public void testFindFutureByPhoneNumberOrderedAndLimited() {
+        Timestamp later = new Timestamp(System.currentTimeMillis() + 2000000000);
+        Timestamp sooner = new Timestamp(System.currentTimeMillis() + 1000000000);
+        Timestamp past = new Timestamp(System.currentTimeMillis() - 1000000000);
+
+        Reservation reservation1 = saveReservation(false, CUSTOMER_1, COURT_1, later, later);
+        Reservation reservation2 = saveReservation(true, CUSTOMER_1, COURT_2, sooner, sooner);
+        Reservation reservation3 = saveReservation(false, CUSTOMER_1, COURT_1, past, past);
+        Reservation reservation4 = saveReservation(false, CUSTOMER_2, COURT_1, sooner, sooner);
+
+        List<Reservation> future = reservationService.findFutureByPhoneNumber(CUSTOMER_1.getPhoneNumber());
+        assertEquals(List.of(reservation2.getId(), reservation1.getId()), future.stream().map(Reservation::getId).toList());
+
+        List<Reservation> nearest = reservationService.findFutureByPhoneNumber(CUSTOMER_1.getPhoneNumber(), 1);
+        assertEquals(List.of(reservation2.getId()), nearest.stream().map(Reservation::getId).toList());
+        assertEquals(0, reservationService.findFutureByPhoneNumber(CUSTOMER_1.getPhoneNumber(), 0).size());
+        assertEquals(0, reservationService.findFutureByPhoneNumber("Unknown Phone Number", 1).size());
+
+        reservationService.deleteById(reservation1.getId());
+        reservationService.deleteById(reservation2.getId());
+        reservationService.deleteById(reservation3.getId());
+        reservationService.deleteById(reservation4.getId());
+    }
+
     @Test
     public void testFindFutureByPhoneNumberNotFound() {
         Timestamp past = new Timestamp(System.currentTimeMillis() - 1000000000);
@@ -242,4 +306,229 @@ class ReservationServiceImplTest {
 
         reservationService.deleteById(reservation.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConcurrentUpdatesMovingReservationKeepStats() {
+        LocalDate day = LocalDate.of(2023, 2, 14);
+        Reservation reservation = saveReservation(false, CUSTOMER_1, COURT_1,
+                Timestamp.valueOf("2023-02-14 12:00:00"), Timestamp.valueOf("2023-02-14 13:00:00"));
+
+        List<CompletableFuture<Void>> updates = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Court court = i % 2 == 0 ? COURT_2 : COURT_1;
+            updates.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 10; j++) {
+                    Reservation moved = reservationService.findById(reservation.getId());
+                    moved.setCourt(court);
+                    assertNotNull(reservationService.update(moved));
+                }
+            }));
+        }
+        updates.forEach(CompletableFuture::join);
+
+        long courtId = reservationService.findById(reservation.getId()).getCourt().getId();
+        CourtStatsService courtStatsService = new CourtStatsServiceImpl();
+        for (Court court : List.of(COURT_1, COURT_2)) {
+            long bookings = courtStatsService.findDaily(day, day, court.getId(), null).stream()
+                    .mapToLong(CourtDailyStats::getBookings)
+                    .sum();
+            assertEquals(court.getId() == courtId ? 1 : 0, bookings);
+        }
+
+        reservationService.deleteById(reservation.getId());
+        assertTrue(courtStatsService.findDaily(day, day, courtId, null).isEmpty());
+    }
+
+    @Test
+    public void testExistsOverlapping() {
+        Reservation reservation = saveReservation();
+
+        assertTrue(reservationService.existsOverlapping(COURT_1.getId(),
+                Timestamp.valueOf("2023-01-01 12:30:00"),
+                Timestamp.valueOf("2023-01-01 13:30:00")));
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(),
+                Timestamp.valueOf("2023-01-01 13:00:00"),
+                Timestamp.valueOf("2023-01-01 14:00:00")));
+        assertFalse(reservationService.existsOverlapping(COURT_2.getId(),
+                Timestamp.valueOf("2023-01-01 12:30:00"),
+                Timestamp.valueOf("2023-01-01 13:30:00")));
+
+        reservationService.deleteById(reservation.getId());
+    }
+
+    @Test
+    public void testExistsOverlappingAfterSaveAndDelete() {
+        Timestamp startsAt = Timestamp.valueOf("2023-01-02 12:00:00");
+        Timestamp endsAt = Timestamp.valueOf("2023-01-02 13:00:00");
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(), startsAt, endsAt));
+
+        Reservation reservation = saveReservation(false, CUSTOMER_1, COURT_1, startsAt, endsAt);
+        assertTrue(reservationService.existsOverlapping(COURT_1.getId(), startsAt, endsAt));
+
+        reservationService.deleteById(reservation.getId());
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(), startsAt, endsAt));
+    }
+
+    @Test
+    public void testExistsOverlappingAfterUpdate() {
+        Timestamp startsAt = Timestamp.valueOf("2023-01-03 12:00:00");
+        Timestamp endsAt = Timestamp.valueOf("2023-01-03 13:00:00");
+        Reservation reservation = saveReservation(false, CUSTOMER_1, COURT_1, startsAt, endsAt);
+        assertTrue(reservationService.existsOverlapping(COURT_1.getId(), startsAt, endsAt));
+
+        reservation.setCourt(COURT_2);
+        reservationService.update(reservation);
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(), startsAt, endsAt));
+        assertTrue(reservationService.existsOverlapping(COURT_2.getId(), startsAt, endsAt));
+
+        reservationService.deleteById(reservation.getId());
+    }
+
+    @Test
+    public void testExistsOverlappingMultiDayReservation() {
+        Timestamp startsAt = Timestamp.valueOf("2023-01-04 00:00:00");
+        Timestamp endsAt = Timestamp.valueOf("2023-01-11 00:00:00");
+        Reservation reservation = saveReservation(false, CUSTOMER_1, COURT_1, startsAt, endsAt);
+
+        Timestamp lastHour = new Timestamp(endsAt.getTime() - 3600000);
+        assertTrue(reservationService.existsOverlapping(COURT_1.getId(), lastHour, endsAt));
+        assertTrue(reservationService.findTimelines(List.of(COURT_1.getId()), lastHour, endsAt).containsKey(COURT_1.getId()));
+        assertFalse(reservationService.existsOverlapping(COURT_1.getId(), endsAt,
+                new Timestamp(endsAt.getTime() + 3600000)));
+
+        reservationService.deleteById(reservation.getId());
+    }
+
+    @Test
+    public void testStreamAll() {
+        Reservation reservation1 = saveReservation();
+        Reservation reservation2 = saveReservation();
+
+        List<Reservation> streamed = new ArrayList<>();
+        long count = reservationService.streamAll(streamed::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(reservation1.getId(), reservation2.getId()),
+                streamed.stream().map(Reservation::getId).toList());
+        assertEquals(COURT_1.getSurface().getMinutePrice(), streamed.get(0).getCourt().getSurface().getMinutePrice());
+        assertEquals(CUSTOMER_1.getPhoneNumber(), streamed.get(1).getCustomer().getPhoneNumber());
+
+        reservationService.deleteById(reservation1.getId());
+        reservationService.deleteById(reservation2.getId());
+    }
+
+    @Test
+    public void testSaveAll() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            reservations.add(new Reservation(false, CUSTOMER_1, i % 2 == 0 ? COURT_1 : COURT_2,
+                    new Timestamp(Timestamp.valueOf("2024-01-01 00:00:00").getTime() + i * 3600000L),
+                    new Timestamp(Timestamp.valueOf("2024-01-01 01:00:00").getTime() + i * 3600000L)));
+        }
+
+        List<Reservation> saved = reservationService.saveAll(reservations);
+
+        assertNotNull(saved);
+        assertEquals(120, saved.stream().map(Reservation::getId).distinct().count());
+        assertEquals(60, reservationService.findAllByCourtId(COURT_1.getId()).size());
+        assertEquals(60, reservationService.findAllByCourtId(COURT_2.getId()).size());
+
+        saved.forEach(reservation -> reservationService.deleteById(reservation.getId()));
+    }
+
+    @Test
+    public void testSaveAllRollsBackOnFailure() {
+        Reservation valid = new Reservation(false, CUSTOMER_1, COURT_1,
+                Timestamp.valueOf("2024-01-01 12:00:00"),
+                Timestamp.valueOf("2024-01-01 13:00:00"));
+        Reservation invalid = new Reservation(false, CUSTOMER_1, COURT_1,
+                Timestamp.valueOf("2024-01-01 14:00:00"),
+                Timestamp.valueOf("2024-01-01 15:00:00"));
+        invalid.setCourt(new Court());
+
+        assertNull(reservationService.saveAll(List.of(valid, invalid)));
+        assertEquals(0, reservationService.findAllByCourtId(COURT_1.getId()).size());
+    }
+
+    @Test
+    public void testFindTimelines() {
+        Reservation reservation1 = saveReservation();
+        Reservation reservation2 = new Reservation(false, CUSTOMER_2, COURT_2,
+                Timestamp.valueOf("2023-01-01 08:00:00"),
+                Timestamp.valueOf("2023-01-01 09:00:00"));
+        reservationService.save(reservation2);
+
+        Map<Long, CourtTimeline> timelines = reservationService.findTimelines(List.of(COURT_1.getId(), COURT_2.getId()),
+                Timestamp.valueOf("2023-01-01 10:00:00"), Timestamp.valueOf("2023-01-01 14:00:00"));
+
+        assertEquals(1, timelines.size());
+        CourtTimeline timeline = timelines.get(COURT_1.getId());
+        assertFalse(timeline.isFree(Timestamp.valueOf("2023-01-01 12:30:00").getTime(), Timestamp.valueOf("2023-01-01 13:30:00").getTime()));
+        assertTrue(timeline.isFree(Timestamp.valueOf("2023-01-01 13:00:00").getTime(), Timestamp.valueOf("2023-01-01 14:00:00").getTime()));
+        assertTrue(reservationService.findTimelines(List.of(), Timestamp.valueOf("2023-01-01 10:00:00"),
+                Timestamp.valueOf("2023-01-01 14:00:00")).isEmpty());
+
+        reservationService.deleteById(reservation1.getId());
+        reservationService.deleteById(reservation2.getId());
+    }
+
+    private static long countStatements(Runnable action) {
+        HibernateUtil.getSessionFactory().getCache().evictAllRegions();
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        action.run();
+        return statistics.getPrepareStatementCount() - statements;
+    }
+
+    private void assertStatementsPerQuery(long expected) {
+        CustomerService customerService = new CustomerServiceImpl();
+
+        assertEquals(expected, countStatements(reservationService::findAll));
+        assertEquals(expected, countStatements(() -> reservationService.findPage(0, 100)));
+        assertEquals(expected, countStatements(() -> reservationService.findAllByCourtId(COURT_1.getId())));
+        assertEquals(expected, countStatements(() -> reservationService.findAllByPhoneNumber(CUSTOMER_1.getPhoneNumber())));
+        assertEquals(expected, countStatements(() -> reservationService.findFutureByPhoneNumber(CUSTOMER_1.getPhoneNumber())));
+        assertEquals(expected, countStatements(() -> customerService.findById(CUSTOMER_1.getId())));
+        assertEquals(expected, countStatements(() -> customerService.findByPhoneNumber(CUSTOMER_1.getPhoneNumber())));
+    }
+
+    @Test
+    public void testStatementCountDoesNotDependOnResultSize() {
+        CustomerService customerService = new CustomerServiceImpl();
+        CourtService courtService = new CourtServiceImpl();
+        List<Reservation> reservations = new ArrayList<>();
+        reservations.add(saveReservation(false, CUSTOMER_1, COURT_1,
+                Timestamp.valueOf("2031-01-01 08:00:00"), Timestamp.valueOf("2031-01-01 09:00:00")));
+        assertStatementsPerQuery(1);
+
+        List<Customer> customers = new ArrayList<>();
+        List<Court> courts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Customer customer = new Customer();
+            customer.setName("Statement Count Customer " + i);
+            customer.setPhoneNumber("Statement Count Phone Number " + i);
+            customerService.save(customer);
+            customers.add(customer);
+
+            Court court = new Court();
+            court.setName("Statement Count Court " + i);
+            court.setSurface(COURT_1.getSurface());
+            courtService.save(court);
+            courts.add(court);
+
+            reservations.add(saveReservation(false, customer, COURT_1,
+                    Timestamp.valueOf("2031-01-0" + (i + 2) + " 08:00:00"), Timestamp.valueOf("2031-01-0" + (i + 2) + " 09:00:00")));
+            reservations.add(saveReservation(false, CUSTOMER_1, court,
+                    Timestamp.valueOf("2031-01-0" + (i + 2) + " 10:00:00"), Timestamp.valueOf("2031-01-0" + (i + 2) + " 11:00:00")));
+        }
+        assertStatementsPerQuery(1);
+
+        for (Reservation reservation : reservations) {
+            reservationService.deleteById(reservation.getId());
+        }
+        for (int i = 0; i < 5; i++) {
+            customerService.deleteById(customers.get(i).getId());
+            courtService.deleteById(courts.get(i).getId());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.klima.matej.tennis_reservations_system.service;
 
 import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.util.HibernateUtil;
+import org.hibernate.Cache;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,4 +136,30 @@ class SurfaceServiceImplTest {
 
         surfaceService.deleteById(surface.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSurfaceCachedUntilDeleted() {
+        Surface surface = saveSurface("Test Surface 13", 100);
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+
+        assertEquals(surface, surfaceService.findById(surface.getId()));
+        assertTrue(cache.containsEntity(Surface.class, surface.getId()));
+
+        surfaceService.deleteById(surface.getId());
+        assertNull(surfaceService.findById(surface.getId()));
+    }
+
+    @Test
+    public void testUpdateSurfaceRefreshesCache() {
+        Surface surface = saveSurface("Test Surface 14", 100);
+        assertEquals(100, surfaceService.findById(surface.getId()).getMinutePrice());
+
+        surface.setMinutePrice(300);
+        surfaceService.update(surface);
+
+        assertEquals(300, surfaceService.findById(surface.getId()).getMinutePrice());
+
+        surfaceService.deleteById(surface.getId());
+        assertNull(surfaceService.findById(surface.getId()));
+    }
+}
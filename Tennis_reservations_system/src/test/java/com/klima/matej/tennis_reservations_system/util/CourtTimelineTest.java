@@ -0,0 +1,90 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourtTimelineTest {
+    private static List<List<Long>> free(CourtTimeline timeline, long from, long to, long minLength) {
+        return timeline.freeIntervals(from, to, minLength).stream()
+                .map(interval -> List.of(interval[0], interval[1]))
+                .toList();
+    }
+
+    @Test
+    public void testEmptyTimeline() {
+        CourtTimeline timeline = new CourtTimeline();
+
+        assertEquals(List.of(List.of(10L, 20L)), free(timeline, 10, 20, 0));
+        assertEquals(List.of(), free(timeline, 10, 20, 11));
+    }
+
+    @Test
+    public void testOverlappingAndTouchingIntervalsAreMerged() {
+        CourtTimeline timeline = new CourtTimeline();
+        timeline.add(10, 20);
+        timeline.add(15, 25);
+        timeline.add(25, 30);
+        timeline.add(40, 50);
+
+        assertEquals(2, timeline.size());
+        assertEquals(List.of(List.of(0L, 10L), List.of(30L, 40L), List.of(50L, 60L)), free(timeline, 0, 60, 0));
+    }
+
+    @Test
+    public void testRangeCutsIntervals() {
+        CourtTimeline timeline = new CourtTimeline();
+        timeline.add(10, 20);
+        timeline.add(30, 40);
+        timeline.add(50, 60);
+
+        assertEquals(List.of(List.of(20L, 30L), List.of(40L, 45L)), free(timeline, 15, 45, 0));
+        assertEquals(List.of(), free(timeline, 31, 39, 0));
+    }
+
+    @Test
+    public void testMinLength() {
+        CourtTimeline timeline = new CourtTimeline();
+        timeline.add(10, 20);
+        timeline.add(25, 40);
+
+        assertEquals(List.of(List.of(0L, 10L), List.of(40L, 60L)), free(timeline, 0, 60, 10));
+    }
+
+    @Test
+    public void testManyIntervals() {
+        CourtTimeline timeline = new CourtTimeline();
+        for (int i = 0; i < 1000; i++) {
+            timeline.add(i * 10L, i * 10L + 5);
+        }
+
+        assertEquals(1000, timeline.size());
+        assertEquals(List.of(List.of(9995L, 10000L)), free(timeline, 9990, 10000, 0));
+        assertEquals(1000, timeline.freeIntervals(0, 10000, 5).size());
+    }
+
+    @Test
+    public void testUnorderedIntervalIsRejected() {
+        CourtTimeline timeline = new CourtTimeline();
+        timeline.add(10, 20);
+
+        assertThrows(IllegalArgumentException.class, () -> timeline.add(5, 8));
+    }
+
+    @Test
+    public void testIsFree() {
+        CourtTimeline timeline = new CourtTimeline();
+        timeline.add(10, 20);
+        timeline.add(30, 40);
+
+        assertTrue(timeline.isFree(0, 10));
+        assertTrue(timeline.isFree(20, 30));
+        assertTrue(timeline.isFree(40, 50));
+        assertFalse(timeline.isFree(5, 11));
+        assertFalse(timeline.isFree(19, 31));
+        assertFalse(timeline.isFree(0, 50));
+        assertTrue(new CourtTimeline().isFree(0, 50));
+    }
+}
@@ -0,0 +1,35 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateUtilTest {
+    @Test
+    public void testClosedSessionFactoryIsNotReturned() {
+        SessionFactory closed = HibernateUtil.getSessionFactory();
+        closed.close();
+
+        SessionFactory rebuilt = HibernateUtil.getSessionFactory();
+        assertNotSame(closed, rebuilt);
+        assertTrue(rebuilt.isOpen());
+        try (Session session = rebuilt.openSession()) {
+            assertEquals(0, session.createQuery("SELECT count(s) FROM Surface s", Long.class).getSingleResult());
+        }
+    }
+
+    @Test
+    public void testManagedSessionFactoryFailsWhenStandaloneExists() {
+        SessionFactory standalone = HibernateUtil.getSessionFactory();
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:managed");
+
+        assertThrows(IllegalStateException.class, () -> HibernateUtil.getSessionFactory(dataSource, Map.of()));
+        assertSame(standalone, HibernateUtil.getSessionFactory());
+    }
+}
@@ -0,0 +1,58 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import com.klima.matej.tennis_reservations_system.entity.Surface;
+import com.klima.matej.tennis_reservations_system.service.SurfaceService;
+import com.klima.matej.tennis_reservations_system.service.SurfaceServiceImpl;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCounterTest {
+    private final SurfaceService surfaceService = new SurfaceServiceImpl();
+
+    @AfterEach
+    public void tearDown() {
+        SqlStatementCounter.stop();
+    }
+
+    @Test
+    public void testCountsStatementsOfCurrentThread() {
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        Surface surface = new Surface();
+        surface.setName("Statement Counter Test Surface");
+        surface.setMinutePrice(1);
+
+        long prepared = statistics.getPrepareStatementCount();
+        SqlStatementCounter.Count count = SqlStatementCounter.start();
+        surfaceService.save(surface);
+        surfaceService.findAll();
+        surfaceService.deleteById(surface.getId());
+
+        assertEquals(statistics.getPrepareStatementCount() - prepared, count.getStatements());
+        assertTrue(count.getStatements() >= 3);
+        assertTrue(count.getJdbcNanos() > 0);
+    }
+
+    @Test
+    public void testOtherThreadsAreNotCounted() {
+        SqlStatementCounter.Count count = SqlStatementCounter.start();
+        CompletableFuture.runAsync(surfaceService::findAll).join();
+
+        assertEquals(0, count.getStatements());
+        assertEquals(0, count.getJdbcNanos());
+    }
+
+    @Test
+    public void testStoppedThreadIsNotCounted() {
+        SqlStatementCounter.Count count = SqlStatementCounter.start();
+        SqlStatementCounter.stop();
+        surfaceService.findAll();
+
+        assertEquals(0, count.getStatements());
+        assertNull(SqlStatementCounter.current());
+    }
+}
@@ -0,0 +1,130 @@
+package com.klima.matej.tennis_reservations_system.util;
+
+import com.klima.matej.tennis_reservations_system.service.SurfaceService;
+import com.klima.matej.tennis_reservations_system.service.SurfaceServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementLogTest {
+    @AfterEach
+    public void tearDown() {
+        SqlStatementLog.setMeterRegistry(null);
+        SqlStatementLog.configure(Duration.ofMillis(100), 1);
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("select s1_0.id from Surface s1_0 where s1_0.id=? and (s1_0.deleted=false)",
+                SqlStatementLog.normalize("select s1_0.id\n    from Surface s1_0\n    where s1_0.id=?  and (s1_0.deleted=false)"));
+        assertEquals("select * from customer where phoneNumber = ? and price > ? and id in (?)",
+                SqlStatementLog.normalize("select * from customer where phoneNumber = 'O''Neil' and price > -1.5 and id in (1, 2, 3)"));
+        assertEquals("select * from court where id in (?) or surface_id in (?)",
+                SqlStatementLog.normalize("select * from court where id in (?,?,?) or surface_id in (?)"));
+    }
+
+    @Test
+    public void testRecordsStatementsOfServices() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementLog.setMeterRegistry(registry);
+        SqlStatementLog.configure(Duration.ZERO, 1);
+        SurfaceService surfaceService = new SurfaceServiceImpl();
+
+        surfaceService.findAll();
+        surfaceService.findAll();
+
+        Timer timer = registry.find("sql.statements").timers().stream()
+                .filter(t -> t.getId().getTag("statement").startsWith("select:Surface:"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void testDistinctStatementsOverLimitShareTimer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementLog.setMeterRegistry(registry);
+
+        for (int i = 0; i < SqlStatementLog.MAX_TIMERS + 10; i++) {
+            SqlStatementLog.record("select * from table_" + i, 1_000);
+        }
+
+        assertEquals(SqlStatementLog.MAX_TIMERS + 1, registry.find("sql.statements").timers().size());
+        assertEquals(10, registry.get("sql.statements").tag("statement", SqlStatementLog.OTHER_STATEMENT).timer().count());
+    }
+
+    @Test
+    public void testStatementId() {
+        String select = "select s1_0.id from Surface s1_0 where s1_0.id=? and (s1_0.deleted=false)";
+        assertEquals("select:Surface:" + String.format("%08x", select.hashCode()), SqlStatementLog.statementId(select));
+        assertTrue(SqlStatementLog.statementId("insert into reservation (court_id,price) values (?,?)").startsWith("insert:reservation:"));
+        assertTrue(SqlStatementLog.statementId("update CourtDailyStats set bookings=bookings+? where id=?").startsWith("update:CourtDailyStats:"));
+        assertTrue(SqlStatementLog.statementId("SELECT id FROM FINAL TABLE (MERGE INTO customer c USING ...)").startsWith("select:customer:"));
+        assertNotEquals(SqlStatementLog.statementId(select), SqlStatementLog.statementId(select + " order by s1_0.id"));
+    }
+
+    @Test
+    public void testTimersHaveServiceLevelObjectiveBuckets() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementLog.setMeterRegistry(registry);
+
+        SqlStatementLog.record("select * from court where id = 1", TimeUnit.MILLISECONDS.toNanos(3));
+
+        Timer timer = registry.get("sql.statements").timer();
+        assertTrue(timer.getId().getTag("statement").startsWith("select:court:"));
+        assertEquals(7, timer.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    public void testConcurrentDistinctStatementsDoNotExceedLimit() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementLog.setMeterRegistry(registry);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < SqlStatementLog.MAX_TIMERS; i++) {
+                        SqlStatementLog.record("select * from concurrent_" + thread + "_" + i, 1_000);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(SqlStatementLog.MAX_TIMERS + 1, registry.find("sql.statements").timers().size());
+        assertEquals((long) threads * SqlStatementLog.MAX_TIMERS, registry.find("sql.statements").timers().stream()
+                .mapToLong(Timer::count)
+                .sum());
+    }
+
+    @Test
+    public void testConfigureRejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> SqlStatementLog.configure(Duration.ofMillis(-1), 1));
+        assertThrows(IllegalArgumentException.class, () -> SqlStatementLog.configure(Duration.ZERO, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> SqlStatementLog.configure(Duration.ZERO, Double.NaN));
+    }
+}